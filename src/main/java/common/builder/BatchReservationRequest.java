@@ -0,0 +1,200 @@
+package common.builder;
+
+import common.manager.ClassroomManager;
+import common.utils.ProtocolCodec;
+import common.utils.ScheduleTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 같은 강의실, 같은 교시 범위를 여러 날짜에 한 번에 예약하는 요청
+ * 날짜별 ReservationRequest로 펼쳐지며, 검증은 전부 성공하거나 전부 실패함 (일부만 예약되지 않음)
+ */
+public class BatchReservationRequest {
+    public static final String PROTOCOL_COMMAND = "RESERVE_BATCH";
+
+    // 한 요청에 담을 수 있는 최대 날짜 수 (1년)
+    public static final int MAX_DATES = 366;
+
+    private final List<ReservationRequest> requests;   // 날짜순
+    private final ReservationRequest first;
+
+    private BatchReservationRequest(List<ReservationRequest> requests) {
+        this.requests = Collections.unmodifiableList(requests);
+        this.first = requests.get(0);
+    }
+
+    public String getUserName() { return first.getUserName(); }
+    public String getRoom() { return first.getRoom(); }
+    public String getTime() { return first.getTime(); }
+    public String getEndTime() { return first.getEndTime(); }
+    public String getPurpose() { return first.getPurpose(); }
+    public String getUserRole() { return first.getUserRole(); }
+    public int getStudentCount() { return first.getStudentCount(); }
+    public String getUserId() { return first.getUserId(); }
+    public int getPeriodMask() { return first.getPeriodMask(); }
+
+    /**
+     * 날짜별로 펼친 요청 (날짜순, 수정 불가)
+     */
+    public List<ReservationRequest> getRequests() {
+        return requests;
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    /**
+     * 수용 인원과 기존 예약 충돌을 한 번에 검사
+     * 기존 예약은 한 번만 훑어 날짜별 교시 비트마스크로 모은 뒤 각 날짜와 비교함
+     * @param existing 이미 확정된 예약 (다른 강의실 예약이 섞여 있어도 됨)
+     * @throws IllegalStateException 인원 초과이거나 충돌하는 날짜가 하나라도 있는 경우 (충돌 날짜를 모두 포함)
+     */
+    public void validate(ClassroomManager rooms, Iterable<ReservationRequest> existing) {
+        if (!rooms.checkCapacity(getRoom(), getStudentCount())) {
+            throw new IllegalStateException("수용 인원을 초과했거나 없는 강의실입니다: " + getRoom());
+        }
+
+        Map<Integer, Integer> occupied = new HashMap<>();
+        for (ReservationRequest reservation : existing) {
+            if (reservation.getRoom().equals(getRoom())) {
+                occupied.merge(reservation.getEpochDay(), reservation.getPeriodMask(), (a, b) -> a | b);
+            }
+        }
+
+        List<String> conflicts = new ArrayList<>();
+        for (ReservationRequest request : requests) {
+            Integer mask = occupied.get(request.getEpochDay());
+            if (mask != null && (mask & request.getPeriodMask()) != 0) {
+                conflicts.add(request.getDate());
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("이미 예약된 날짜가 있습니다: " + String.join(", ", conflicts));
+        }
+    }
+
+    /**
+     * 프로토콜: RESERVE_BATCH,이름,강의실,시작,종료,목적,역할,인원,사용자ID,날짜수,날짜1,날짜2,...
+     * 요일은 날짜에서 계산하므로 보내지 않음
+     */
+    public String toProtocolString() {
+        StringBuilder sb = new StringBuilder(96 + requests.size() * 11).append(PROTOCOL_COMMAND);
+        ProtocolCodec.appendField(sb, getUserName());
+        ProtocolCodec.appendField(sb, getRoom());
+        ProtocolCodec.appendField(sb, getTime());
+        ProtocolCodec.appendField(sb, getEndTime());
+        ProtocolCodec.appendField(sb, getPurpose());
+        ProtocolCodec.appendField(sb, getUserRole());
+        ProtocolCodec.appendField(sb, getStudentCount());
+        ProtocolCodec.appendField(sb, getUserId());
+        ProtocolCodec.appendField(sb, requests.size());
+        for (ReservationRequest request : requests) {
+            ProtocolCodec.appendField(sb, request.getDate());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * toProtocolString()으로 만든 프레임을 다시 변환 (Builder 검증을 그대로 거침)
+     * @throws IllegalArgumentException 명령어가 다르거나 필드가 부족한 경우
+     */
+    public static BatchReservationRequest fromProtocol(CharSequence protocol) {
+        ProtocolCodec.Tokenizer tokens = ProtocolCodec.tokenize(protocol);
+        if (!tokens.hasNext() || !PROTOCOL_COMMAND.equals(tokens.next())) {
+            throw new IllegalArgumentException("RESERVE_BATCH 프레임이 아닙니다: " + protocol);
+        }
+        String userName = tokens.next();
+        String room = tokens.next();
+        String time = tokens.next();
+        String endTime = tokens.next();
+        String purpose = tokens.next();
+        String userRole = tokens.next();
+        int studentCount = tokens.nextInt();
+        String userId = tokens.next();
+        int count = tokens.nextInt();
+        if (count <= 0 || count > MAX_DATES) {
+            throw new IllegalArgumentException("날짜 수가 올바르지 않습니다: " + count);
+        }
+
+        List<String> dates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dates.add(tokens.next());
+        }
+        ReservationRequest.Builder template = new ReservationRequest.Builder(userName, room, dates.get(0))
+            .time(time)
+            .endTime(endTime)
+            .purpose(purpose)
+            .userRole(userRole)
+            .studentCount(studentCount)
+            .userId(userId);
+        return new Builder(template).dates(dates).build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchReservationRequest [name=%s, room=%s, time=%s~%s, dates=%d, count=%d]",
+            getUserName(), getRoom(), getTime(), getEndTime(), requests.size(), getStudentCount());
+    }
+
+    /**
+     * ReservationRequest.Builder를 틀로 삼아 날짜만 바꿔가며 요청을 만듦
+     * 틀의 날짜와 요일은 쓰지 않고, 각 날짜의 요일은 날짜에서 계산함
+     */
+    public static class Builder {
+        private final ReservationRequest.Builder template;
+        private final Set<String> dates = new LinkedHashSet<>();
+
+        public Builder(ReservationRequest.Builder template) {
+            if (template == null) {
+                throw new IllegalArgumentException("예약 요청 틀은 필수입니다.");
+            }
+            this.template = template;
+        }
+
+        public Builder date(String date) {
+            if (date == null || date.isEmpty()) {
+                throw new IllegalArgumentException("날짜는 필수입니다.");
+            }
+            if (!dates.add(date)) {
+                throw new IllegalArgumentException("중복된 날짜입니다: " + date);
+            }
+            return this;
+        }
+
+        public Builder dates(Iterable<String> dates) {
+            for (String date : dates) {
+                date(date);
+            }
+            return this;
+        }
+
+        /**
+         * 날짜별 요청을 모두 만들고 검증 (하나라도 잘못되면 예외)
+         * @throws IllegalArgumentException 날짜가 없거나 너무 많은 경우, 날짜/교시 형식이 잘못된 경우
+         * @throws IllegalStateException 사용 목적이 없는 경우
+         */
+        public BatchReservationRequest build() {
+            if (dates.isEmpty()) {
+                throw new IllegalArgumentException("예약할 날짜를 하나 이상 입력해주세요.");
+            }
+            if (dates.size() > MAX_DATES) {
+                throw new IllegalArgumentException("한 번에 예약할 수 있는 날짜는 " + MAX_DATES + "개까지입니다.");
+            }
+
+            List<ReservationRequest> requests = new ArrayList<>(dates.size());
+            for (String date : dates) {
+                String day = ScheduleTime.dayOfWeekName(ScheduleTime.dayOfWeekOf(ScheduleTime.toEpochDay(date)));
+                requests.add(template.withDate(date, day).build());
+            }
+            requests.sort(ReservationRequest.CHRONOLOGICAL);
+            return new BatchReservationRequest(requests);
+        }
+    }
+}
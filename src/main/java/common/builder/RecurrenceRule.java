@@ -0,0 +1,291 @@
+package common.builder;
+
+import common.utils.ScheduleTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 학기 단위 반복 예약 규칙 (불변)
+ * 강의실, 요일 집합, 교시 범위, 시작/종료 날짜, 제외 날짜만 저장하고
+ * 날짜별 예약은 필요할 때 하나씩 만듦 (한 학기 수업을 수백 개의 객체로 들고 있지 않음)
+ *
+ * 날짜는 epoch-day, 요일은 7비트 마스크(0=월 ... 6=일), 교시는 ScheduleTime 비트마스크로 표현
+ */
+public final class RecurrenceRule {
+
+    // 한 규칙이 덮을 수 있는 최대 기간 (약 1년)
+    public static final int MAX_SPAN_DAYS = 366;
+
+    private final String room;
+    private final int weekdayMask;
+    private final int startPeriod;
+    private final int endPeriod;
+    private final int periodMask;
+    private final int startEpochDay;
+    private final int endEpochDay;        // 포함
+    private final BitSet exclusions;      // startEpochDay 기준 오프셋
+
+    private RecurrenceRule(Builder builder, int startEpochDay, int endEpochDay,
+                           int startPeriod, int endPeriod, BitSet exclusions) {
+        this.room = builder.room;
+        this.weekdayMask = builder.weekdayMask;
+        this.startPeriod = startPeriod;
+        this.endPeriod = endPeriod;
+        this.periodMask = ScheduleTime.periodMask(startPeriod, endPeriod);
+        this.startEpochDay = startEpochDay;
+        this.endEpochDay = endEpochDay;
+        this.exclusions = exclusions;
+    }
+
+    public String getRoom() { return room; }
+    public int getWeekdayMask() { return weekdayMask; }
+    public int getStartPeriod() { return startPeriod; }
+    public int getEndPeriod() { return endPeriod; }
+    public int getPeriodMask() { return periodMask; }
+    public int getStartEpochDay() { return startEpochDay; }
+    public int getEndEpochDay() { return endEpochDay; }
+
+    /**
+     * 해당 날짜에 수업이 있는지 (기간 안, 요일 일치, 제외 날짜 아님)
+     */
+    public boolean occursOn(int epochDay) {
+        if (epochDay < startEpochDay || epochDay > endEpochDay) {
+            return false;
+        }
+        return (weekdayMask & (1 << ScheduleTime.dayOfWeekOf(epochDay))) != 0
+            && !exclusions.get(epochDay - startEpochDay);
+    }
+
+    /**
+     * [fromEpochDay, toEpochDay] 구간의 발생일 비트셋 (비트 i = fromEpochDay + i)
+     * 두 규칙의 같은 구간을 and 하면 실제 날짜 객체 없이 겹치는 날을 구할 수 있음
+     */
+    public BitSet occurrences(int fromEpochDay, int toEpochDay) {
+        int from = Math.max(fromEpochDay, startEpochDay);
+        int to = Math.min(toEpochDay, endEpochDay);
+        BitSet days = new BitSet(Math.max(0, toEpochDay - fromEpochDay + 1));
+        if (from > to) {
+            return days;
+        }
+        // 요일별로 첫 발생일을 찾은 뒤 7일 간격으로 켬
+        int firstDow = ScheduleTime.dayOfWeekOf(from);
+        for (int dow = 0; dow < 7; dow++) {
+            if ((weekdayMask & (1 << dow)) == 0) {
+                continue;
+            }
+            for (int day = from + Math.floorMod(dow - firstDow, 7); day <= to; day += 7) {
+                if (!exclusions.get(day - startEpochDay)) {
+                    days.set(day - fromEpochDay);
+                }
+            }
+        }
+        return days;
+    }
+
+    /**
+     * 전체 기간의 발생일 비트셋 (비트 i = startEpochDay + i)
+     */
+    public BitSet occurrences() {
+        return occurrences(startEpochDay, endEpochDay);
+    }
+
+    /**
+     * 발생 횟수 (제외 날짜 제외)
+     */
+    public int count() {
+        return occurrences().cardinality();
+    }
+
+    /**
+     * 단건 예약과 충돌 여부 (같은 강의실, 그 날짜에 발생, 교시 겹침)
+     */
+    public boolean conflictsWith(ReservationRequest request) {
+        return (periodMask & request.getPeriodMask()) != 0
+            && room.equals(request.getRoom())
+            && occursOn(request.getEpochDay());
+    }
+
+    /**
+     * 다른 반복 규칙과 충돌 여부
+     * 강의실, 교시, 요일, 기간을 먼저 비교하고 모두 겹칠 때만 겹치는 구간의 비트셋을 비교함
+     */
+    public boolean conflictsWith(RecurrenceRule other) {
+        if ((periodMask & other.periodMask) == 0 || (weekdayMask & other.weekdayMask) == 0
+                || !room.equals(other.room)) {
+            return false;
+        }
+        int from = Math.max(startEpochDay, other.startEpochDay);
+        int to = Math.min(endEpochDay, other.endEpochDay);
+        if (from > to) {
+            return false;
+        }
+        return occurrences(from, to).intersects(other.occurrences(from, to));
+    }
+
+    /**
+     * 발생일(epoch-day)을 날짜순으로 하나씩 계산하는 반복자
+     */
+    public Iterator<Integer> epochDays() {
+        return new Iterator<Integer>() {
+            private int next = advance(startEpochDay);
+
+            private int advance(int day) {
+                while (day <= endEpochDay && !occursOn(day)) {
+                    day++;
+                }
+                return day;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next <= endEpochDay;
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int current = next;
+                next = advance(current + 1);
+                return current;
+            }
+        };
+    }
+
+    /**
+     * 틀 요청의 강의실/교시를 이 규칙 값으로 바꿔 날짜별 ReservationRequest를 순서대로 만듦
+     * 반복할 때마다 한 건씩 생성되며, 각 요청은 ReservationRequest.Builder 검증을 거침
+     */
+    public Iterable<ReservationRequest> expand(ReservationRequest.Builder template) {
+        return () -> new Iterator<ReservationRequest>() {
+            private final Iterator<Integer> days = epochDays();
+
+            @Override
+            public boolean hasNext() {
+                return days.hasNext();
+            }
+
+            @Override
+            public ReservationRequest next() {
+                int epochDay = days.next();
+                return template.withDate(LocalDate.ofEpochDay(epochDay).toString(),
+                                         ScheduleTime.dayOfWeekName(ScheduleTime.dayOfWeekOf(epochDay)))
+                    .withRoom(room)
+                    .time(ScheduleTime.periodName(startPeriod))
+                    .endTime(ScheduleTime.periodName(endPeriod))
+                    .build();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder days = new StringBuilder();
+        for (int dow = 0; dow < 7; dow++) {
+            if ((weekdayMask & (1 << dow)) != 0) {
+                days.append(ScheduleTime.dayOfWeekName(dow));
+            }
+        }
+        return String.format("RecurrenceRule [room=%s, days=%s, time=%d~%d교시, %s~%s, excluded=%d]",
+            room, days, startPeriod, endPeriod,
+            LocalDate.ofEpochDay(startEpochDay), LocalDate.ofEpochDay(endEpochDay),
+            exclusions.cardinality());
+    }
+
+    public static class Builder {
+        private final String room;
+        private final String startDate;
+        private final String endDate;
+
+        private int weekdayMask;
+        private String time = "1교시";
+        private String endTime = null;   // 지정하지 않으면 시작 교시와 같음
+        private final List<String> excludedDates = new ArrayList<>();
+
+        public Builder(String room, String startDate, String endDate) {
+            if (room == null || room.isEmpty()) {
+                throw new IllegalArgumentException("강의실은 필수입니다.");
+            }
+            if (startDate == null || startDate.isEmpty() || endDate == null || endDate.isEmpty()) {
+                throw new IllegalArgumentException("시작/종료 날짜는 필수입니다.");
+            }
+            this.room = room;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        /**
+         * 반복 요일 추가 ("월", "수요일" 등)
+         */
+        public Builder weekday(String day) {
+            int dow = ScheduleTime.parseDayOfWeek(day);
+            if (dow < 0) {
+                throw new IllegalArgumentException("요일 형식이 올바르지 않습니다: " + day);
+            }
+            weekdayMask |= 1 << dow;
+            return this;
+        }
+
+        public Builder weekdays(String... days) {
+            for (String day : days) {
+                weekday(day);
+            }
+            return this;
+        }
+
+        public Builder time(String time) {
+            this.time = time;
+            return this;
+        }
+
+        public Builder endTime(String endTime) {
+            this.endTime = endTime;
+            return this;
+        }
+
+        /**
+         * 휴일 등 수업이 없는 날짜 (기간 밖의 날짜는 build()에서 거부)
+         */
+        public Builder exclude(String date) {
+            excludedDates.add(date);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException 날짜/교시 형식 오류, 요일 없음, 기간이 뒤집혔거나 너무 긴 경우
+         */
+        public RecurrenceRule build() {
+            if (weekdayMask == 0) {
+                throw new IllegalArgumentException("반복 요일을 하나 이상 입력해주세요.");
+            }
+            int start = ScheduleTime.toEpochDay(startDate);
+            int end = ScheduleTime.toEpochDay(endDate);
+            if (end < start) {
+                throw new IllegalArgumentException("종료 날짜가 시작 날짜보다 앞설 수 없습니다.");
+            }
+            if (end - start + 1 > MAX_SPAN_DAYS) {
+                throw new IllegalArgumentException("반복 기간은 " + MAX_SPAN_DAYS + "일을 넘을 수 없습니다.");
+            }
+            int startPeriod = ScheduleTime.parsePeriod(time);
+            int endPeriod = endTime != null ? ScheduleTime.parsePeriod(endTime) : startPeriod;
+            if (endPeriod < startPeriod) {
+                throw new IllegalArgumentException("종료 교시가 시작 교시보다 앞설 수 없습니다: " + time + "~" + endTime);
+            }
+
+            BitSet exclusions = new BitSet(end - start + 1);
+            for (String date : excludedDates) {
+                int day = ScheduleTime.toEpochDay(date);
+                if (day < start || day > end) {
+                    throw new IllegalArgumentException("제외 날짜가 반복 기간 밖에 있습니다: " + date);
+                }
+                exclusions.set(day - start);
+            }
+            return new RecurrenceRule(this, start, end, startPeriod, endPeriod, exclusions);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package common.builder;
 
+import common.utils.BinaryCodec;
+import common.utils.ProtocolCodec;
+import common.utils.ScheduleTime;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+
 /**
  * 예약 요청 데이터를 위한 Builder Pattern
  */
 public class ReservationRequest {
+    public static final String PROTOCOL_COMMAND = "RESERVE_REQUEST";
+
     private final String userName;
     private final String room;
     private final String date;
@@ -14,18 +22,38 @@ public class ReservationRequest {
     private final String userRole;
     private final int studentCount;
     private final String userId;
+    
+    // build() 시점에 한 번 계산한 시간 정보 (충돌 검사/정렬은 문자열 대신 정수로)
+    private final int epochDay;
+    private final int dayOfWeek;      // 0(월) ~ 6(일)
+    private final int startPeriod;
+    private final int endPeriod;
+    private final int periodMask;     // startPeriod~endPeriod 교시 비트
 
-    private ReservationRequest(Builder builder) {
+    /**
+     * 날짜, 시작 교시, 강의실 순 정렬
+     */
+    public static final Comparator<ReservationRequest> CHRONOLOGICAL =
+        Comparator.comparingInt(ReservationRequest::getEpochDay)
+            .thenComparingInt(ReservationRequest::getStartPeriod)
+            .thenComparing(ReservationRequest::getRoom);
+
+    private ReservationRequest(Builder builder, int epochDay, int dayOfWeek, int startPeriod, int endPeriod) {
         this.userName = builder.userName;
         this.room = builder.room;
         this.date = builder.date;
         this.day = builder.day;
         this.time = builder.time;
-        this.endTime = builder.endTime;
+        this.endTime = builder.endTime != null ? builder.endTime : builder.time;
         this.purpose = builder.purpose;
         this.userRole = builder.userRole;
         this.studentCount = builder.studentCount;
         this.userId = builder.userId;
+        this.epochDay = epochDay;
+        this.dayOfWeek = dayOfWeek;
+        this.startPeriod = startPeriod;
+        this.endPeriod = endPeriod;
+        this.periodMask = ScheduleTime.periodMask(startPeriod, endPeriod);
     }
 
     // Getter 메서드들
@@ -39,10 +67,111 @@ public class ReservationRequest {
     public String getUserRole() { return userRole; }
     public int getStudentCount() { return studentCount; }
     public String getUserId() { return userId; }
+    public int getEpochDay() { return epochDay; }
+    public int getDayOfWeek() { return dayOfWeek; }
+    public int getStartPeriod() { return startPeriod; }
+    public int getEndPeriod() { return endPeriod; }
+    public int getPeriodMask() { return periodMask; }
+
+    /**
+     * 같은 강의실, 같은 날짜에 교시가 하나라도 겹치는지 여부
+     */
+    public boolean overlaps(ReservationRequest other) {
+        return epochDay == other.epochDay
+            && (periodMask & other.periodMask) != 0
+            && room.equals(other.room);
+    }
 
+    /**
+     * 프로토콜: RESERVE_REQUEST,이름,강의실,날짜,요일,시간,목적,역할,인원,사용자ID
+     * 필드 안의 쉼표 등은 ProtocolCodec 규칙으로 이스케이프됨
+     */
     public String toProtocolString() {
-        return String.format("RESERVE_REQUEST,%s,%s,%s,%s,%s,%s,%s,%d,%s",
-            userName, room, date, day, time, purpose, userRole, studentCount, userId);
+        StringBuilder sb = new StringBuilder(96).append(PROTOCOL_COMMAND);
+        ProtocolCodec.appendField(sb, userName);
+        ProtocolCodec.appendField(sb, room);
+        ProtocolCodec.appendField(sb, date);
+        ProtocolCodec.appendField(sb, day);
+        ProtocolCodec.appendField(sb, time);
+        ProtocolCodec.appendField(sb, purpose);
+        ProtocolCodec.appendField(sb, userRole);
+        ProtocolCodec.appendField(sb, studentCount);
+        ProtocolCodec.appendField(sb, userId);
+        return sb.toString();
+    }
+
+    /**
+     * toProtocolString()으로 만든 프레임을 다시 ReservationRequest로 변환 (Builder 검증을 그대로 거침)
+     * 사용자ID가 없는 이전 형식도 허용
+     * @throws IllegalArgumentException 명령어가 다르거나 필드가 부족한 경우
+     */
+    public static ReservationRequest fromProtocol(CharSequence protocol) {
+        ProtocolCodec.Tokenizer tokens = ProtocolCodec.tokenize(protocol);
+        if (!tokens.hasNext() || !PROTOCOL_COMMAND.equals(tokens.next())) {
+            throw new IllegalArgumentException("RESERVE_REQUEST 프레임이 아닙니다: " + protocol);
+        }
+        Builder builder = new Builder(tokens.next(), tokens.next(), tokens.next())
+            .day(tokens.next())
+            .time(tokens.next())
+            .purpose(tokens.next())
+            .userRole(tokens.next())
+            .studentCount(tokens.nextInt());
+        if (tokens.hasNext()) {
+            builder.userId(tokens.next());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 이진 프레임으로 기록 (BinaryCodec.TYPE_RESERVE_REQUEST)
+     * 페이로드: 이름, 강의실, 날짜, 요일, 시작, 종료, 목적, 역할, 인원, 사용자ID
+     */
+    public void writeBinary(ByteBuffer out) {
+        BinaryCodec.writeHeader(out, BinaryCodec.TYPE_RESERVE_REQUEST, binaryPayloadSize());
+        BinaryCodec.putString(out, userName);
+        BinaryCodec.putString(out, room);
+        BinaryCodec.putString(out, date);
+        BinaryCodec.putString(out, day);
+        BinaryCodec.putString(out, time);
+        BinaryCodec.putString(out, endTime);
+        BinaryCodec.putString(out, purpose);
+        BinaryCodec.putString(out, userRole);
+        BinaryCodec.putInt(out, studentCount);
+        BinaryCodec.putString(out, userId);
+    }
+
+    /**
+     * 이진 프레임 한 개를 담은 바이트 배열
+     */
+    public byte[] toBinary() {
+        ByteBuffer out = ByteBuffer.allocate(BinaryCodec.frameSize(binaryPayloadSize()));
+        writeBinary(out);
+        return out.array();
+    }
+
+    /**
+     * BinaryCodec.readFrame으로 읽은 TYPE_RESERVE_REQUEST 페이로드를 변환 (Builder 검증을 그대로 거침)
+     */
+    public static ReservationRequest fromBinary(ByteBuffer payload) {
+        Builder builder = new Builder(BinaryCodec.getString(payload),
+                                      BinaryCodec.getString(payload),
+                                      BinaryCodec.getString(payload));
+        return builder.day(BinaryCodec.getString(payload))
+            .time(BinaryCodec.getString(payload))
+            .endTime(BinaryCodec.getString(payload))
+            .purpose(BinaryCodec.getString(payload))
+            .userRole(BinaryCodec.getString(payload))
+            .studentCount(BinaryCodec.getInt(payload))
+            .userId(BinaryCodec.getString(payload))
+            .build();
+    }
+
+    private int binaryPayloadSize() {
+        return BinaryCodec.stringSize(userName) + BinaryCodec.stringSize(room)
+            + BinaryCodec.stringSize(date) + BinaryCodec.stringSize(day)
+            + BinaryCodec.stringSize(time) + BinaryCodec.stringSize(endTime)
+            + BinaryCodec.stringSize(purpose) + BinaryCodec.stringSize(userRole)
+            + BinaryCodec.intSize(studentCount) + BinaryCodec.stringSize(userId);
     }
 
     @Override
@@ -59,7 +188,7 @@ public class ReservationRequest {
         // 선택적 파라미터 - 기본값으로 초기화
         private String day = "";
         private String time = "1교시";
-        private String endTime = "1교시";
+        private String endTime = null;   // 지정하지 않으면 시작 교시와 같음
         private String purpose = "";
         private String userRole = "학생";
         private int studentCount = 1;
@@ -122,9 +251,37 @@ public class ReservationRequest {
             this.userId = userId;
             return this;
         }
+
+        /**
+         * 날짜만 바꾼 복사본 (BatchReservationRequest가 날짜별 요청을 펼칠 때 사용)
+         */
+        Builder withDate(String date, String day) {
+            return copy(room, date, day);
+        }
+
+        /**
+         * 강의실만 바꾼 복사본 (RecurrenceRule이 규칙의 강의실로 요청을 펼칠 때 사용)
+         */
+        Builder withRoom(String room) {
+            return copy(room, date, day);
+        }
+
+        private Builder copy(String room, String date, String day) {
+            Builder copy = new Builder(userName, room, date);
+            copy.day = day;
+            copy.time = time;
+            copy.endTime = endTime;
+            copy.purpose = purpose;
+            copy.userRole = userRole;
+            copy.studentCount = studentCount;
+            copy.userId = userId;
+            return copy;
+        }
         
         /**
          * ReservationRequest 객체 생성
+         * 날짜/요일/교시 문자열을 여기서 한 번 검증하고 정수 표현으로 변환함
+         * @throws IllegalArgumentException 날짜, 요일, 교시 형식이 잘못되었거나 종료 교시가 시작보다 앞선 경우
          */
         public ReservationRequest build() {
             // 최종 검증 (필요시)
@@ -132,7 +289,23 @@ public class ReservationRequest {
                 throw new IllegalStateException("사용 목적을 입력해주세요.");
             }
             
-            return new ReservationRequest(this);
+            int epochDay = ScheduleTime.toEpochDay(date);
+            int dayOfWeek;
+            if (day == null || day.isEmpty()) {
+                dayOfWeek = ScheduleTime.dayOfWeekOf(epochDay);
+            } else {
+                dayOfWeek = ScheduleTime.parseDayOfWeek(day);
+                if (dayOfWeek < 0) {
+                    throw new IllegalArgumentException("요일 형식이 올바르지 않습니다: " + day);
+                }
+            }
+            int startPeriod = ScheduleTime.parsePeriod(time);
+            int endPeriod = endTime != null ? ScheduleTime.parsePeriod(endTime) : startPeriod;
+            if (endPeriod < startPeriod) {
+                throw new IllegalArgumentException("종료 교시가 시작 교시보다 앞설 수 없습니다: " + time + "~" + endTime);
+            }
+            
+            return new ReservationRequest(this, epochDay, dayOfWeek, startPeriod, endPeriod);
         }
     }
 }
\ No newline at end of file
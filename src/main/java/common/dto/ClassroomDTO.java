@@ -1,10 +1,24 @@
 package common.dto;
 
+import common.utils.BinaryCodec;
+import common.utils.DataCodec;
+import common.utils.ProtocolCodec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * 강의실/실습실 데이터 전송 객체 (DTO)
  * 서버와 클라이언트 간 데이터 전송에 사용
+ * Java 직렬화는 직렬화 프록시(SerializedForm)를 거쳐 필드 세 개만 직접 기록함
  */
 public class ClassroomDTO implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -31,8 +45,14 @@ public class ClassroomDTO implements Serializable {
         return "LAB".equals(type);
     }
     
+    /**
+     * 프로토콜: 이름,타입,수용인원 (필드 안의 쉼표 등은 ProtocolCodec 규칙으로 이스케이프)
+     */
     public String toProtocol() {
-        return String.format("%s,%s,%d", name, type, capacity);
+        StringBuilder sb = new StringBuilder(32);
+        ProtocolCodec.appendEscaped(sb, name).append(ProtocolCodec.SEPARATOR);
+        ProtocolCodec.appendEscaped(sb, type).append(ProtocolCodec.SEPARATOR);
+        return sb.append(capacity).toString();
     }
     
     // Getter 메서드 추가
@@ -48,16 +68,126 @@ public class ClassroomDTO implements Serializable {
         return capacity;
     }
     
+    /**
+     * toProtocol() 형식 파싱 (필드 앞뒤 공백은 제거)
+     * @return 필드가 3개 미만이면 null
+     * @throws NumberFormatException 수용인원이 정수가 아닌 경우
+     */
     public static ClassroomDTO fromProtocol(String protocol) {
-        String[] parts = protocol.split(",");
-        if (parts.length >= 3) {
-            return new ClassroomDTO(
-                parts[0].trim(),
-                parts[1].trim(),
-                Integer.parseInt(parts[2].trim())
-            );
+        return fromProtocol(protocol, new ProtocolCodec.Tokenizer());
+    }
+    
+    /**
+     * 여러 줄을 파싱할 때 토크나이저를 재사용하는 버전
+     */
+    public static ClassroomDTO fromProtocol(CharSequence protocol, ProtocolCodec.Tokenizer tokens) {
+        tokens.reset(protocol);
+        if (!tokens.hasNext()) {
+            return null;
+        }
+        String name = tokens.nextTrimmed();
+        if (!tokens.hasNext()) {
+            return null;
+        }
+        String type = tokens.nextTrimmed();
+        if (!tokens.hasNext()) {
+            return null;
+        }
+        return new ClassroomDTO(name, type, tokens.nextInt());
+    }
+    
+    /**
+     * 이진 프레임으로 기록 (BinaryCodec.TYPE_CLASSROOM, 페이로드: 이름, 타입, 수용인원)
+     */
+    public void writeBinary(ByteBuffer out) {
+        BinaryCodec.writeHeader(out, BinaryCodec.TYPE_CLASSROOM, binaryPayloadSize());
+        BinaryCodec.putString(out, name);
+        BinaryCodec.putString(out, type);
+        BinaryCodec.putInt(out, capacity);
+    }
+    
+    /**
+     * 헤더를 포함한 이진 프레임 크기 (여러 강의실을 한 버퍼에 담을 때 크기 계산용)
+     */
+    public int binaryFrameSize() {
+        return BinaryCodec.frameSize(binaryPayloadSize());
+    }
+    
+    /**
+     * BinaryCodec.readFrame으로 읽은 TYPE_CLASSROOM 페이로드를 변환
+     */
+    public static ClassroomDTO fromBinary(ByteBuffer payload) {
+        return new ClassroomDTO(BinaryCodec.getString(payload),
+                                BinaryCodec.getString(payload),
+                                BinaryCodec.getInt(payload));
+    }
+    
+    private int binaryPayloadSize() {
+        return BinaryCodec.stringSize(name) + BinaryCodec.stringSize(type) + BinaryCodec.intSize(capacity);
+    }
+    
+    /**
+     * 필드 직접 기록 (이름, 타입, 수용인원)
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(type);
+        out.writeInt(capacity);
+    }
+    
+    public static ClassroomDTO readFrom(DataInput in) throws IOException {
+        return new ClassroomDTO(in.readUTF(), in.readUTF(), in.readInt());
+    }
+    
+    /**
+     * 강의실 목록을 한 번에 기록 (개수 다음 항목들)
+     */
+    public static void writeList(DataOutput out, List<ClassroomDTO> rooms) throws IOException {
+        DataCodec.writeList(out, rooms, (o, room) -> room.writeTo(o));
+    }
+    
+    public static List<ClassroomDTO> readList(DataInput in) throws IOException {
+        return DataCodec.readList(in, ClassroomDTO::readFrom);
+    }
+    
+    // ===== Java 직렬화: 직렬화 프록시 =====
+    
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+    
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("SerializedForm을 통해서만 역직렬화할 수 있습니다.");
+    }
+    
+    /**
+     * ClassroomDTO의 직렬화 형태 (리플렉션 기반 기본 직렬화 대신 필드를 직접 기록)
+     */
+    private static final class SerializedForm implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private ClassroomDTO value;
+        
+        public SerializedForm() {
+            // Externalizable 역직렬화용
+        }
+        
+        SerializedForm(ClassroomDTO value) {
+            this.value = value;
+        }
+        
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            value.writeTo(out);
+        }
+        
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            value = readFrom(in);
+        }
+        
+        private Object readResolve() {
+            return value;
         }
-        return null;
     }
     
     @Override
@@ -0,0 +1,195 @@
+package common.manager;
+
+import common.dto.ClassroomDTO;
+import common.utils.ProtocolCodec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 강의실 목록의 버전 간 변경분 (클라이언트 목록 동기화용)
+ * 프로토콜 (줄 단위, 필드는 ProtocolCodec 이스케이프):
+ *   CATALOG_DELTA,epoch,기준버전,새버전,FULL|INCREMENTAL,변경수
+ *   +,이름,타입,수용인원      (추가)
+ *   ~,이름,타입,수용인원      (수정)
+ *   -,이름,타입               (삭제)
+ * FULL이면 클라이언트는 기존 목록을 비우고 받은 목록으로 교체함
+ * epoch는 서버 목록 인스턴스마다 다른 값이라, 서버가 재시작되면 이전 버전 번호로는 변경분을 받지 않음
+ */
+public class CatalogDelta {
+
+    public static final String PROTOCOL_COMMAND = "CATALOG_DELTA";
+
+    public enum Kind {
+        ADD("+"),
+        UPDATE("~"),
+        REMOVE("-");
+
+        private final String symbol;
+
+        Kind(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Kind fromSymbol(String symbol) {
+            for (Kind kind : values()) {
+                if (kind.symbol.equals(symbol)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("알 수 없는 변경 종류: " + symbol);
+        }
+    }
+
+    /**
+     * 강의실 하나의 변경 (삭제면 capacity는 0)
+     */
+    public static class Change {
+        public final long version;
+        public final Kind kind;
+        public final String name;
+        public final String type;
+        public final int capacity;
+
+        public Change(long version, Kind kind, String name, String type, int capacity) {
+            this.version = version;
+            this.kind = kind;
+            this.name = name;
+            this.type = type;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public String toString() {
+            return kind.symbol + name + "(" + type + (kind == Kind.REMOVE ? "" : ", " + capacity) + ")@" + version;
+        }
+    }
+
+    private final long epoch;
+    private final long fromVersion;
+    private final long toVersion;
+    private final boolean full;
+    private final List<Change> changes;
+
+    public CatalogDelta(long epoch, long fromVersion, long toVersion, boolean full, List<Change> changes) {
+        this.epoch = epoch;
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.full = full;
+        this.changes = Collections.unmodifiableList(new ArrayList<>(changes));
+    }
+
+    /**
+     * 변경분을 만든 서버 목록의 epoch (다음 요청 때 버전과 함께 돌려보냄)
+     */
+    public long getEpoch() { return epoch; }
+    public long getFromVersion() { return fromVersion; }
+    public long getToVersion() { return toVersion; }
+    public boolean isFull() { return full; }
+    public List<Change> getChanges() { return changes; }
+
+    /**
+     * 변경이 없는지 여부 (클라이언트가 이미 최신)
+     */
+    public boolean isEmpty() {
+        return !full && changes.isEmpty();
+    }
+
+    /**
+     * 여러 줄 프레임으로 직렬화 (마지막 줄 뒤에는 줄바꿈 없음)
+     */
+    public String toProtocol() {
+        StringBuilder sb = new StringBuilder(32 + changes.size() * 24);
+        StringBuilder line = new StringBuilder(32);
+        line.append(PROTOCOL_COMMAND);
+        ProtocolCodec.appendField(line, Long.toString(epoch));
+        ProtocolCodec.appendField(line, Long.toString(fromVersion));
+        ProtocolCodec.appendField(line, Long.toString(toVersion));
+        ProtocolCodec.appendField(line, full ? "FULL" : "INCREMENTAL");
+        ProtocolCodec.appendField(line, changes.size());
+        sb.append(line);
+        for (Change change : changes) {
+            line.setLength(0);
+            line.append(change.kind.symbol);
+            ProtocolCodec.appendField(line, change.name);
+            ProtocolCodec.appendField(line, change.type);
+            if (change.kind != Kind.REMOVE) {
+                ProtocolCodec.appendField(line, change.capacity);
+            }
+            sb.append('\n').append(line);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * toProtocol() 형식 파싱
+     * @throws IllegalArgumentException 형식이 잘못되었거나 줄 수가 맞지 않는 경우
+     */
+    public static CatalogDelta fromProtocol(CharSequence frame) {
+        ProtocolCodec.Tokenizer tokens = new ProtocolCodec.Tokenizer();
+        int lineStart = 0;
+        int lineEnd = indexOfNewline(frame, 0);
+        tokens.reset(frame.subSequence(0, lineEnd));
+        if (!PROTOCOL_COMMAND.equals(tokens.next())) {
+            throw new IllegalArgumentException("CATALOG_DELTA 프레임이 아닙니다.");
+        }
+        long epoch = Long.parseLong(tokens.next());
+        long from = Long.parseLong(tokens.next());
+        long to = Long.parseLong(tokens.next());
+        boolean full = "FULL".equals(tokens.next());
+        int count = tokens.nextInt();
+
+        List<Change> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lineStart = lineEnd + 1;
+            if (lineStart > frame.length()) {
+                throw new IllegalArgumentException("변경 줄이 부족합니다: " + i + "/" + count);
+            }
+            lineEnd = indexOfNewline(frame, lineStart);
+            tokens.reset(frame.subSequence(lineStart, lineEnd));
+            Kind kind = Kind.fromSymbol(tokens.next());
+            String name = tokens.next();
+            String type = tokens.next();
+            changes.add(new Change(to, kind, name, type, kind == Kind.REMOVE ? 0 : tokens.nextInt()));
+        }
+        return new CatalogDelta(epoch, from, to, full, changes);
+    }
+
+    /**
+     * 클라이언트가 들고 있는 목록(이름 -> 강의실)에 변경분 적용
+     * 이름만 키로 쓰므로 같은 이름의 강의실/실습실을 구분해야 하면 ClassroomManager.applyDelta를 사용
+     * @return 적용 후 목록 버전
+     */
+    public long applyTo(Map<String, ClassroomDTO> catalog) {
+        if (full) {
+            catalog.clear();
+        }
+        for (Change change : changes) {
+            if (change.kind == Kind.REMOVE) {
+                ClassroomDTO current = catalog.get(change.name);
+                if (current != null && current.type.equals(change.type)) {
+                    catalog.remove(change.name);
+                }
+            } else {
+                catalog.put(change.name, new ClassroomDTO(change.name, change.type, change.capacity));
+            }
+        }
+        return toVersion;
+    }
+
+    private static int indexOfNewline(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CatalogDelta [epoch=%d, %d -> %d, %s, %d건]",
+            epoch, fromVersion, toVersion, full ? "FULL" : "INCREMENTAL", changes.size());
+    }
+}
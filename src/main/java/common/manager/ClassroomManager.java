@@ -2,6 +2,8 @@ package common.manager;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 강의실/실습실 관리자 (Singleton Pattern)
@@ -11,12 +13,21 @@ public class ClassroomManager {
     
     private static ClassroomManager instance;
     
-    private Map<String, Classroom> classrooms;
-    private Map<String, Classroom> labs;
+    // 전체 교체(FULL 변경분) 시에는 새 맵을 채운 뒤 참조만 바꾸므로 volatile
+    private volatile Map<String, Classroom> classrooms;
+    private volatile Map<String, Classroom> labs;
+    
+    // 목록 버전 (추가/삭제/수용 인원 변경마다 1씩 증가)과 최근 변경 기록
+    // 버전과 기록은 메모리에만 있으므로 인스턴스마다 새 epoch를 두고, epoch가 다른 버전은 믿지 않음
+    private static final int MAX_CHANGE_LOG = 1024;
+    private long catalogEpoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private long catalogVersion = 0;
+    private final Deque<CatalogDelta.Change> changeLog = new ArrayDeque<>();
     
     private ClassroomManager() {
-        this.classrooms = new HashMap<>();
-        this.labs = new HashMap<>();
+        // 조회는 잠금 없이 (검증 스레드 등에서 동시에), 변경은 synchronized 메서드로만
+        this.classrooms = new ConcurrentHashMap<>();
+        this.labs = new ConcurrentHashMap<>();
     }
     
     public static synchronized ClassroomManager getInstance() {
@@ -28,22 +39,29 @@ public class ClassroomManager {
     
     /**
      * 강의실 추가
+     * @throws IllegalArgumentException name이 null인 경우 (목록은 null 이름을 담을 수 없음)
      */
     public synchronized void addClassroom(String name, int capacity) {
-        classrooms.put(name, new Classroom(name, "CLASS", capacity));
+        requireName(name);
+        recordPut(classrooms.put(name, new Classroom(name, "CLASS", capacity)), name, "CLASS", capacity);
     }
     
     /**
      * 실습실 추가
+     * @throws IllegalArgumentException name이 null인 경우
      */
     public synchronized void addLab(String name, int capacity) {
-        labs.put(name, new Classroom(name, "LAB", capacity));
+        requireName(name);
+        recordPut(labs.put(name, new Classroom(name, "LAB", capacity)), name, "LAB", capacity);
     }
     
     /**
      * 강의실 조회
      */
     public Classroom getClassroom(String name) {
+        if (name == null) {
+            return null;
+        }
         Classroom room = classrooms.get(name);
         if (room == null) {
             room = labs.get(name);
@@ -53,13 +71,123 @@ public class ClassroomManager {
     
     /**
      * 강의실 삭제
+     * @return 삭제했으면 true, 없는 이름(null 포함)이면 false
      */
     public synchronized boolean removeClassroom(String name) {
-        boolean removed = classrooms.remove(name) != null;
-        if (!removed) {
-            removed = labs.remove(name) != null;
+        if (name == null) {
+            return false;
+        }
+        Classroom removed = classrooms.remove(name);
+        if (removed == null) {
+            removed = labs.remove(name);
+        }
+        if (removed != null) {
+            record(CatalogDelta.Kind.REMOVE, name, removed.type, 0);
+        }
+        return removed != null;
+    }
+    
+    /**
+     * 현재 목록 버전
+     */
+    public synchronized long getCatalogVersion() {
+        return catalogVersion;
+    }
+    
+    /**
+     * 이 목록 인스턴스의 epoch (서버가 재시작되면 바뀜)
+     */
+    public synchronized long getCatalogEpoch() {
+        return catalogEpoch;
+    }
+    
+    /**
+     * 클라이언트가 가진 버전 이후의 변경분
+     * 같은 강의실의 여러 변경은 마지막 상태 하나로 합침
+     * epoch가 다르거나(서버 재시작 전 버전), 변경 기록이 이미 잘려 나간 오래된 버전이거나,
+     * 알 수 없는 버전이면 전체 목록(FULL)을 보냄
+     * @param epoch 클라이언트가 마지막으로 받은 변경분의 epoch (처음이면 0)
+     * @param sinceVersion 클라이언트가 마지막으로 받은 버전 (처음이면 0)
+     */
+    public synchronized CatalogDelta getChangesSince(long epoch, long sinceVersion) {
+        long oldestKnown = changeLog.isEmpty() ? catalogVersion : changeLog.peekFirst().version - 1;
+        if (epoch != catalogEpoch || sinceVersion < oldestKnown || sinceVersion > catalogVersion) {
+            List<CatalogDelta.Change> snapshot = new ArrayList<>();
+            for (Classroom room : getAllClassrooms()) {
+                snapshot.add(new CatalogDelta.Change(catalogVersion, CatalogDelta.Kind.ADD, room.name, room.type, room.capacity));
+            }
+            for (Classroom lab : getAllLabs()) {
+                snapshot.add(new CatalogDelta.Change(catalogVersion, CatalogDelta.Kind.ADD, lab.name, lab.type, lab.capacity));
+            }
+            return new CatalogDelta(catalogEpoch, sinceVersion, catalogVersion, true, snapshot);
+        }
+        
+        // 같은 이름의 강의실과 실습실은 따로 합침
+        Map<String, CatalogDelta.Change> latest = new LinkedHashMap<>();
+        Iterator<CatalogDelta.Change> newestFirst = changeLog.descendingIterator();
+        while (newestFirst.hasNext()) {
+            CatalogDelta.Change change = newestFirst.next();
+            if (change.version <= sinceVersion) {
+                break;
+            }
+            latest.putIfAbsent(change.type + ':' + change.name, change);
+        }
+        List<CatalogDelta.Change> changes = new ArrayList<>(latest.values());
+        Collections.reverse(changes);
+        return new CatalogDelta(catalogEpoch, sinceVersion, catalogVersion, false, changes);
+    }
+    
+    /**
+     * 서버에서 받은 변경분을 이 목록에 적용 (클라이언트 쪽)
+     * 적용 후 목록 버전과 epoch는 서버와 같아짐
+     */
+    public synchronized void applyDelta(CatalogDelta delta) {
+        // FULL이면 새 맵에 채운 뒤 교체 (잠금 없이 읽는 쪽이 비어 있거나 반쯤 찬 목록을 보지 않도록)
+        Map<String, Classroom> nextClassrooms = delta.isFull() ? new ConcurrentHashMap<>() : classrooms;
+        Map<String, Classroom> nextLabs = delta.isFull() ? new ConcurrentHashMap<>() : labs;
+        for (CatalogDelta.Change change : delta.getChanges()) {
+            // 변경된 타입의 목록만 건드림 (같은 이름의 다른 타입 항목은 유지)
+            Map<String, Classroom> target = "LAB".equals(change.type) ? nextLabs
+                : "CLASS".equals(change.type) ? nextClassrooms : null;
+            if (target == null) {
+                continue;
+            }
+            if (change.kind == CatalogDelta.Kind.REMOVE) {
+                target.remove(change.name);
+            } else {
+                target.put(change.name, new Classroom(change.name, change.type, change.capacity));
+            }
+        }
+        classrooms = nextClassrooms;
+        labs = nextLabs;
+        catalogEpoch = delta.getEpoch();
+        catalogVersion = delta.getToVersion();
+        changeLog.clear();
+    }
+    
+    private static void requireName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name은 null일 수 없습니다.");
+        }
+    }
+    
+    /**
+     * 추가 결과를 변경 기록에 반영 (같은 내용으로 다시 추가하면 버전을 올리지 않음)
+     */
+    private void recordPut(Classroom previous, String name, String type, int capacity) {
+        if (previous == null) {
+            record(CatalogDelta.Kind.ADD, name, type, capacity);
+        } else if (previous.capacity != capacity || !previous.type.equals(type)) {
+            record(CatalogDelta.Kind.UPDATE, name, type, capacity);
+        }
+    }
+    
+    private void record(CatalogDelta.Kind kind, String name, String type, int capacity) {
+        catalogVersion++;
+        changeLog.addLast(new CatalogDelta.Change(catalogVersion, kind, name, type, capacity));
+        if (changeLog.size() > MAX_CHANGE_LOG) {
+            changeLog.removeFirst();
         }
-        return removed;
     }
     
     /**
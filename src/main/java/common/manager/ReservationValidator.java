@@ -0,0 +1,233 @@
+package common.manager;
+
+import common.builder.ReservationRequest;
+import common.utils.ScheduleTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 예약 요청 일괄 검증기
+ * 요청 간 상태를 공유하지 않는 검사(필수 항목, 시간 범위, 수용 인원)를 여러 스레드로 나눠 실행하고
+ * 입력 순서 그대로 요청별 판정을 돌려줌
+ * (같은 시간대끼리의 충돌처럼 순서에 의존하는 검사는 호출한 쪽에서 판정 후 순서대로 처리)
+ */
+public class ReservationValidator {
+
+    // 이보다 작은 묶음은 나누지 않고 호출 스레드에서 바로 검사
+    static final int PARALLEL_THRESHOLD = 64;
+
+    public enum Status {
+        ACCEPTED,
+        MISSING_FIELD,    // 이름/강의실/목적/역할 누락
+        INVALID_TIME,     // 운영 교시 밖이거나 예약 가능 기간 밖
+        UNKNOWN_ROOM,     // 등록되지 않은 강의실
+        OVER_CAPACITY     // 허용 인원(50%) 초과
+    }
+
+    /**
+     * 요청 한 건의 판정 결과 (불변)
+     */
+    public static final class Verdict {
+        private static final Verdict ACCEPTED = new Verdict(Status.ACCEPTED, "");
+
+        private final Status status;
+        private final String reason;
+
+        private Verdict(Status status, String reason) {
+            this.status = status;
+            this.reason = reason;
+        }
+
+        public Status getStatus() { return status; }
+        public String getReason() { return reason; }
+
+        public boolean isAccepted() {
+            return status == Status.ACCEPTED;
+        }
+
+        @Override
+        public String toString() {
+            return isAccepted() ? status.name() : status + ": " + reason;
+        }
+    }
+
+    private final ClassroomManager rooms;
+    private final ExecutorService executor;
+    private final int threads;
+
+    private volatile int lastPeriod = ScheduleTime.MAX_PERIOD;
+    private volatile int firstEpochDay = Integer.MIN_VALUE;
+    private volatile int lastEpochDay = Integer.MAX_VALUE;
+
+    // 처리량 통계
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder validatedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+
+    /**
+     * @param threads 검증 스레드 수 (1 이상)
+     */
+    public ReservationValidator(ClassroomManager rooms, int threads) {
+        if (rooms == null) {
+            throw new IllegalArgumentException("rooms는 null일 수 없습니다.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads는 1 이상이어야 합니다: " + threads);
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        this.rooms = rooms;
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "reservation-validate-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 운영하는 마지막 교시 (이후 교시를 포함한 요청은 INVALID_TIME)
+     */
+    public void setLastPeriod(int lastPeriod) {
+        if (lastPeriod < 1 || lastPeriod > ScheduleTime.MAX_PERIOD) {
+            throw new IllegalArgumentException("lastPeriod는 1~" + ScheduleTime.MAX_PERIOD + "이어야 합니다: " + lastPeriod);
+        }
+        this.lastPeriod = lastPeriod;
+    }
+
+    /**
+     * 예약 가능 기간 (yyyy-MM-dd, 양 끝 포함)
+     */
+    public void setBookingWindow(String firstDate, String lastDate) {
+        int first = ScheduleTime.toEpochDay(firstDate);
+        int last = ScheduleTime.toEpochDay(lastDate);
+        if (last < first) {
+            throw new IllegalArgumentException("예약 가능 기간이 올바르지 않습니다: " + firstDate + "~" + lastDate);
+        }
+        this.firstEpochDay = first;
+        this.lastEpochDay = last;
+    }
+
+    /**
+     * 요청 한 건 검사 (호출 스레드에서 실행)
+     */
+    public Verdict validate(ReservationRequest request) {
+        if (isBlank(request.getUserName()) || isBlank(request.getRoom())
+                || isBlank(request.getPurpose()) || isBlank(request.getUserRole())) {
+            return new Verdict(Status.MISSING_FIELD, "필수 항목이 비어 있습니다.");
+        }
+        if (request.getEndPeriod() > lastPeriod) {
+            return new Verdict(Status.INVALID_TIME, "운영 시간은 " + lastPeriod + "교시까지입니다.");
+        }
+        if (request.getEpochDay() < firstEpochDay || request.getEpochDay() > lastEpochDay) {
+            return new Verdict(Status.INVALID_TIME, "예약 가능 기간이 아닙니다: " + request.getDate());
+        }
+        ClassroomManager.Classroom room = rooms.getClassroom(request.getRoom());
+        if (room == null) {
+            return new Verdict(Status.UNKNOWN_ROOM, "존재하지 않는 강의실입니다: " + request.getRoom());
+        }
+        if (request.getStudentCount() > room.getAllowedCapacity()) {
+            return new Verdict(Status.OVER_CAPACITY,
+                "허용 인원(" + room.getAllowedCapacity() + "명)을 초과했습니다: " + request.getStudentCount() + "명");
+        }
+        return Verdict.ACCEPTED;
+    }
+
+    /**
+     * 묶음 검사 (스레드 수만큼 구간을 나눠 병렬 실행)
+     * @return 입력과 같은 순서의 판정 목록 (수정 불가)
+     */
+    public List<Verdict> validateAll(List<ReservationRequest> requests) {
+        long started = System.nanoTime();
+        int size = requests.size();
+        Verdict[] verdicts = new Verdict[size];
+
+        if (size < PARALLEL_THRESHOLD || threads == 1) {
+            validateRange(requests, verdicts, 0, size);
+        } else {
+            int chunk = (size + threads - 1) / threads;
+            List<Future<?>> parts = new ArrayList<>(threads);
+            for (int from = 0; from < size; from += chunk) {
+                int start = from;
+                int end = Math.min(size, from + chunk);
+                parts.add(executor.submit(() -> validateRange(requests, verdicts, start, end)));
+            }
+            try {
+                for (Future<?> part : parts) {
+                    part.get();   // 각 구간 완료를 기다림 (verdicts 쓰기가 여기서 보이게 됨)
+                }
+            } catch (InterruptedException e) {
+                parts.forEach(part -> part.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("검증이 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("검증 중 오류가 발생했습니다.", e.getCause());
+            }
+        }
+
+        busyNanos.add(System.nanoTime() - started);
+        batchCount.increment();
+        validatedCount.add(size);
+        return Collections.unmodifiableList(Arrays.asList(verdicts));
+    }
+
+    private void validateRange(List<ReservationRequest> requests, Verdict[] verdicts, int from, int to) {
+        int rejected = 0;
+        for (int i = from; i < to; i++) {
+            Verdict verdict = validate(requests.get(i));
+            verdicts[i] = verdict;
+            if (!verdict.isAccepted()) {
+                rejected++;
+            }
+        }
+        rejectedCount.add(rejected);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    // ========== 통계 ==========
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * validateAll로 검사한 요청 수
+     */
+    public long getValidatedCount() {
+        return validatedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * validateAll 호출에 걸린 시간 합계 기준 초당 검사 건수 (기록이 없으면 0)
+     */
+    public double getThroughputPerSecond() {
+        long nanos = busyNanos.sum();
+        return nanos == 0 ? 0 : getValidatedCount() * 1_000_000_000.0 / nanos;
+    }
+
+    public void resetStats() {
+        batchCount.reset();
+        validatedCount.reset();
+        rejectedCount.reset();
+        busyNanos.reset();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
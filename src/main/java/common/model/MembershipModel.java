@@ -4,6 +4,12 @@
  */
 package common.model;
 
+import common.utils.DataCodec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
 public class MembershipModel {
     private String name;
     private String studentId;
@@ -72,6 +78,30 @@ public class MembershipModel {
         return name != null && studentId != null && password != null;
     }
 
+    /**
+     * 필드 직접 기록 (입력 전 필드는 null로 보존)
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        DataCodec.writeNullableUTF(out, name);
+        DataCodec.writeNullableUTF(out, studentId);
+        DataCodec.writeNullableUTF(out, password);
+    }
+
+    public static MembershipModel readFrom(DataInput in) throws IOException {
+        return new MembershipModel(DataCodec.readNullableUTF(in),
+                                   DataCodec.readNullableUTF(in),
+                                   DataCodec.readNullableUTF(in));
+    }
+
+    // 목록을 한 번에 기록 (개수 다음 항목들)
+    public static void writeList(DataOutput out, List<MembershipModel> models) throws IOException {
+        DataCodec.writeList(out, models, (o, model) -> model.writeTo(o));
+    }
+
+    public static List<MembershipModel> readList(DataInput in) throws IOException {
+        return DataCodec.readList(in, MembershipModel::readFrom);
+    }
+
     @Override
     public String toString() {
         return "MembershipModel{" +
@@ -0,0 +1,185 @@
+package common.model;
+
+import common.model.ReservedRoomModel.Reservation;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 동시 접근용 예약 저장소
+ * 전체 집합과 강의실별 / 요일+교시별 / 강의실+요일+교시별 / 사용자별 보조 색인을 함께 유지해
+ * 조회, 추가, 삭제를 목록 전체를 훑지 않고 처리함
+ * 시간대 색인은 문자열 대신 SlotKey(long)를 키로 써서 충돌 검사에 문자열 해시가 들지 않음
+ * (요일/교시를 해석할 수 없는 예약도 받으며, 이런 예약은 문자열 그대로를 키로 하는 보조 색인에 둠)
+ *
+ * 같은 예약의 추가/삭제는 색인 전체에 걸쳐 원자적으로 처리되고(서로 다른 예약은 동시에 진행),
+ * 조회 결과는 읽기 전용 뷰라서 다른 스레드가 쓰는 중에도 ConcurrentModificationException 없이 순회할 수 있음
+ * (뷰는 조회 시점의 키에 묶이므로, 그 키의 예약이 모두 삭제된 뒤 다시 추가되면 새로 조회해야 함)
+ */
+public class ReservationIndex {
+
+    private final Map<Reservation, Boolean> all = new ConcurrentHashMap<>();
+    private final Map<String, Set<Reservation>> byRoom = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Reservation>> bySlot = new ConcurrentHashMap<>();       // SlotKey.withoutRoom
+    private final Map<Long, Set<Reservation>> byRoomSlot = new ConcurrentHashMap<>();   // SlotKey
+    private final Map<String, Set<Reservation>> bySlotText = new ConcurrentHashMap<>();
+    private final Map<String, Set<Reservation>> byRoomSlotText = new ConcurrentHashMap<>();
+
+    // 이 저장소의 강의실 번호 표 (다른 저장소와 공유하지 않음)
+    private final SlotKey slotKeys = new SlotKey();
+    private final Map<String, Set<Reservation>> byUser = new ConcurrentHashMap<>();
+
+    /**
+     * 예약 추가
+     * @return 새로 추가되었으면 true, 같은 예약이 이미 있으면 false
+     */
+    public boolean add(Reservation reservation) {
+        boolean[] added = new boolean[1];
+        // 같은 예약에 대한 추가/삭제가 색인 갱신 도중에 끼어들지 않도록 전체 집합의 키 잠금 안에서 갱신
+        all.computeIfAbsent(reservation, r -> {
+            put(byRoom, r.getRoom(), r);
+            if (r.getTimeKey() >= 0) {
+                put(bySlot, (long) r.getTimeKey(), r);
+                put(byRoomSlot, slotKeys.of(r.getRoom(), r.getDay(), r.getPeriod()), r);
+            } else {
+                put(bySlotText, textKey(r.getDay(), r.getPeriod()), r);
+                put(byRoomSlotText, textKey(r.getRoom(), r.getDay(), r.getPeriod()), r);
+            }
+            put(byUser, r.getName(), r);
+            added[0] = true;
+            return Boolean.TRUE;
+        });
+        return added[0];
+    }
+
+    /**
+     * 예약 삭제
+     * @return 삭제되었으면 true, 없던 예약이면 false
+     */
+    public boolean remove(Reservation reservation) {
+        boolean[] removed = new boolean[1];
+        all.computeIfPresent(reservation, (r, present) -> {
+            take(byRoom, r.getRoom(), r);
+            if (r.getTimeKey() >= 0) {
+                take(bySlot, (long) r.getTimeKey(), r);
+                take(byRoomSlot, slotKeys.find(r.getRoom(), r.getDay(), r.getPeriod()), r);
+            } else {
+                take(bySlotText, textKey(r.getDay(), r.getPeriod()), r);
+                take(byRoomSlotText, textKey(r.getRoom(), r.getDay(), r.getPeriod()), r);
+            }
+            take(byUser, r.getName(), r);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    public boolean contains(Reservation reservation) {
+        return all.containsKey(reservation);
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    /**
+     * 모든 예약 (읽기 전용 실시간 뷰)
+     */
+    public Set<Reservation> getAll() {
+        return Collections.unmodifiableSet(all.keySet());
+    }
+
+    public Set<Reservation> findByRoom(String room) {
+        return view(room == null ? null : byRoom.get(room));
+    }
+
+    /**
+     * 해당 요일, 교시의 모든 강의실 예약
+     */
+    public Set<Reservation> findBySlot(String day, String period) {
+        int time = SlotKey.timeOf(day, period);
+        return view(time >= 0 ? bySlot.get((long) time) : bySlotText.get(textKey(day, period)));
+    }
+
+    /**
+     * 해당 강의실, 요일, 교시의 예약
+     */
+    public Set<Reservation> findByRoomAndSlot(String room, String day, String period) {
+        if (SlotKey.timeOf(day, period) < 0) {
+            return view(byRoomSlotText.get(textKey(room, day, period)));
+        }
+        return findBySlotKey(slotKeys.find(room, day, period));
+    }
+
+    /**
+     * 이 저장소의 칸 키 (해당 강의실 예약이 한 번도 없었거나 요일/교시를 해석할 수 없으면 -1)
+     * 같은 칸을 반복해서 검사할 때 키를 한 번만 만들어 isOccupied(long) 등에 넘김
+     */
+    public long slotKeyOf(String room, String day, String period) {
+        return slotKeys.find(room, day, period);
+    }
+
+    /**
+     * slotKeyOf()로 얻은 칸 키로 바로 조회
+     */
+    public Set<Reservation> findBySlotKey(long slotKey) {
+        return view(byRoomSlot.get(slotKey));
+    }
+
+    public Set<Reservation> findByUser(String name) {
+        return view(name == null ? null : byUser.get(name));
+    }
+
+    /**
+     * 해당 강의실, 요일, 교시가 이미 예약되어 있는지
+     */
+    public boolean isOccupied(String room, String day, String period) {
+        if (SlotKey.timeOf(day, period) < 0) {
+            return byRoomSlotText.containsKey(textKey(room, day, period));
+        }
+        return isOccupied(slotKeys.find(room, day, period));
+    }
+
+    public boolean isOccupied(long slotKey) {
+        return byRoomSlot.containsKey(slotKey);
+    }
+
+    public void clear() {
+        all.clear();
+        byRoom.clear();
+        bySlot.clear();
+        byRoomSlot.clear();
+        bySlotText.clear();
+        byRoomSlotText.clear();
+        byUser.clear();
+    }
+
+    // 키의 집합 생성과 추가를 한 번에 (빈 집합 제거와 엇갈려도 예약이 사라지지 않도록)
+    private static <K> void put(Map<K, Set<Reservation>> index, K key, Reservation reservation) {
+        index.compute(key, (k, set) -> {
+            if (set == null) {
+                set = ConcurrentHashMap.newKeySet();
+            }
+            set.add(reservation);
+            return set;
+        });
+    }
+
+    // 마지막 예약이 빠지면 키도 제거
+    private static <K> void take(Map<K, Set<Reservation>> index, K key, Reservation reservation) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(reservation);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // 해석할 수 없는 요일/교시용 문자열 키
+    private static String textKey(String... parts) {
+        return String.join("\u0000", parts);
+    }
+
+    private static Set<Reservation> view(Set<Reservation> set) {
+        return set == null ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+}
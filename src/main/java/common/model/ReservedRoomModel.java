@@ -1,5 +1,11 @@
 package common.model;
 
+import common.utils.DataCodec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
 public class ReservedRoomModel {
 
     /**
@@ -12,6 +18,10 @@ public class ReservedRoomModel {
         private final String day;
         private final String period;
         private final String purpose;
+        
+        // 맵 키로 자주 쓰이므로 해시는 생성 시 한 번만 계산
+        private final int hash;
+        private final int timeKey;   // SlotKey.timeOf(day, period), 해석할 수 없으면 -1
 
         public Reservation(String name, String room, String day, String period, String purpose) {
             if (name == null || name.trim().isEmpty()) {
@@ -35,6 +45,8 @@ public class ReservedRoomModel {
             this.day = day;
             this.period = period;
             this.purpose = purpose;
+            this.hash = computeHash();
+            this.timeKey = SlotKey.timeOf(day, period);
         }
 
         // Getter 메서드들 (수정 불가)
@@ -58,6 +70,40 @@ public class ReservedRoomModel {
             return purpose;
         }
 
+        /**
+         * (요일, 교시) 키 - 충돌 검사 맵에서 문자열 대신 사용 (강의실 번호는 저장소의 SlotKey가 붙임)
+         * @return 요일 또는 교시를 해석할 수 없으면 -1
+         */
+        public int getTimeKey() {
+            return timeKey;
+        }
+
+        /**
+         * 필드 직접 기록 (이름, 강의실, 요일, 교시, 목적)
+         */
+        public void writeTo(DataOutput out) throws IOException {
+            out.writeUTF(name);
+            out.writeUTF(room);
+            out.writeUTF(day);
+            out.writeUTF(period);
+            out.writeUTF(purpose);
+        }
+
+        public static Reservation readFrom(DataInput in) throws IOException {
+            return new Reservation(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+        }
+
+        /**
+         * 예약 목록을 한 번에 기록 (개수 다음 항목들)
+         */
+        public static void writeList(DataOutput out, List<Reservation> reservations) throws IOException {
+            DataCodec.writeList(out, reservations, (o, reservation) -> reservation.writeTo(o));
+        }
+
+        public static List<Reservation> readList(DataInput in) throws IOException {
+            return DataCodec.readList(in, Reservation::readFrom);
+        }
+
         @Override
         public String toString() {
             return "Reservation{" +
@@ -76,6 +122,7 @@ public class ReservedRoomModel {
 
             Reservation that = (Reservation) o;
 
+            if (hash != that.hash) return false;
             if (!name.equals(that.name)) return false;
             if (!room.equals(that.room)) return false;
             if (!day.equals(that.day)) return false;
@@ -85,6 +132,10 @@ public class ReservedRoomModel {
 
         @Override
         public int hashCode() {
+            return hash;
+        }
+
+        private int computeHash() {
             int result = name.hashCode();
             result = 31 * result + room.hashCode();
             result = 31 * result + day.hashCode();
@@ -0,0 +1,97 @@
+package common.model;
+
+import common.utils.ScheduleTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (강의실, 요일, 교시)를 하나의 long으로 묶은 예약 칸 키
+ * 비트 배치: [강의실 번호 32비트][요일 8비트][교시 8비트] (하위 48비트 사용)
+ *
+ * 요일+교시 부분(timeOf)은 전역으로 같은 값이고, 강의실 번호는 이 객체가 처음 본 순서대로 매김
+ * 번호 표는 이 객체(보통 저장소 하나)에만 속하므로 저장소마다 따로 만들어 씀
+ */
+public final class SlotKey {
+
+    private final Map<String, Integer> roomIds = new ConcurrentHashMap<>();
+    private final List<String> roomNames = new ArrayList<>();   // roomIds 갱신 안에서만 추가
+
+    /**
+     * 이 표의 칸 키 (강의실이 처음이면 번호를 새로 매김)
+     * @return 칸 키, 요일 또는 교시를 해석할 수 없으면 -1
+     */
+    public long of(String room, String day, String period) {
+        int time = timeOf(day, period);
+        return time < 0 ? -1 : ((long) roomId(room) << 16) | time;
+    }
+
+    /**
+     * of()와 같지만 번호가 없는 강의실은 새로 등록하지 않고 -1 반환 (조회용)
+     */
+    public long find(String room, String day, String period) {
+        int time = timeOf(day, period);
+        Integer id = room == null ? null : roomIds.get(room);
+        return time < 0 || id == null ? -1 : ((long) id << 16) | time;
+    }
+
+    /**
+     * 강의실 이름의 번호 (같은 이름은 항상 같은 번호, 0부터 등록 순)
+     */
+    public int roomId(String room) {
+        Integer id = roomIds.get(room);
+        if (id != null) {
+            return id;
+        }
+        return roomIds.computeIfAbsent(room, name -> {
+            synchronized (roomNames) {   // 다른 이름이 동시에 등록되어도 번호와 목록 위치가 일치하도록
+                roomNames.add(name);
+                return roomNames.size() - 1;
+            }
+        });
+    }
+
+    public String roomName(int roomId) {
+        synchronized (roomNames) {
+            return roomNames.get(roomId);
+        }
+    }
+
+    // ========== 키 구성/분해 (번호 표와 무관) ==========
+
+    public static long of(int roomId, int dayIndex, int period) {
+        return ((long) roomId << 16) | (dayIndex << 8) | period;
+    }
+
+    /**
+     * 강의실 없이 (요일, 교시)만 담은 키 - withoutRoom(of(...))와 같음
+     * @param day "월", "월요일" 등
+     * @param period "1교시", "1교시(09:00~10:00)" 등
+     * @return 요일 또는 교시를 해석할 수 없으면 -1
+     */
+    public static int timeOf(String day, String period) {
+        int dayIndex = ScheduleTime.parseDayOfWeek(day);
+        int periodNumber = ScheduleTime.findPeriod(period);
+        return dayIndex < 0 || periodNumber < 0 ? -1 : (dayIndex << 8) | periodNumber;
+    }
+
+    public static int roomIdOf(long key) {
+        return (int) (key >>> 16);
+    }
+
+    public static int dayOf(long key) {
+        return (int) (key >>> 8) & 0xFF;
+    }
+
+    public static int periodOf(long key) {
+        return (int) key & 0xFF;
+    }
+
+    /**
+     * 강의실을 뺀 (요일, 교시) 키 (모든 강의실의 같은 시간대를 묶을 때)
+     */
+    public static long withoutRoom(long key) {
+        return key & 0xFFFF;
+    }
+}
@@ -4,6 +4,12 @@
  */
 package common.model;
 
+import common.utils.DataCodec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
 /**
  *
  * @author YangJinWon
@@ -28,11 +34,23 @@ public class User {
         this.password = password;
         this.name = name;
     }
+    
+    /**
+     * 직렬화로 받은 사용자 (비밀번호는 전송하지 않으므로 null)
+     */
+    private User(String userId, String name) {
+        this.userId = userId;
+        this.password = null;
+        this.name = name;
+    }
 
     public String getUserId() {
         return userId;
     }
 
+    /**
+     * @return 비밀번호 (readFrom으로 복원한 사용자는 null)
+     */
     public String getPassword() {
         return password;
     }
@@ -41,6 +59,33 @@ public class User {
         return name;
     }
     
+    /**
+     * 필드 직접 기록 (사용자ID, 이름)
+     * toString()과 같이 평문 비밀번호는 내보내지 않음
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(userId);
+        out.writeUTF(name);
+    }
+
+    /**
+     * writeTo()로 기록한 사용자 복원 (비밀번호 없음)
+     */
+    public static User readFrom(DataInput in) throws IOException {
+        return new User(in.readUTF(), in.readUTF());
+    }
+
+    /**
+     * 사용자 목록을 한 번에 기록 (개수 다음 항목들)
+     */
+    public static void writeList(DataOutput out, List<User> users) throws IOException {
+        DataCodec.writeList(out, users, (o, user) -> user.writeTo(o));
+    }
+
+    public static List<User> readList(DataInput in) throws IOException {
+        return DataCodec.readList(in, User::readFrom);
+    }
+    
     @Override
     public String toString() {
         return "User{" +
@@ -0,0 +1,496 @@
+package common.observer;
+
+import common.utils.WireFormat;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 클라이언트 한 개의 송신 대기열
+ * 알림은 제한된 크기의 큐에 넣기만 하고, 실제 소켓 쓰기는 모든 연결이 함께 쓰는 송신 스레드 풀이 처리함
+ * (느린 소켓이 notifyUser 호출자나 같은 사용자의 다른 연결을 막지 않도록)
+ * 한 연결의 대기열은 동시에 한 스레드만 비우므로 연결별 전송 순서가 유지되고,
+ * 접속자 수만큼 스레드를 만들지 않음
+ * 출력 대상은 PrintWriter(문자 스트림) 또는 OutputStream(바이트 스트림) 중 하나
+ */
+class ClientConnection {
+
+    // 한 번 실행에서 보낼 최대 알림 수 (한 연결이 송신 풀을 독점하지 않도록)
+    private static final int DRAIN_BATCH = 64;
+
+    // 제거할 때 진행 중인 송신 작업이 끝나기를 기다리는 최대 시간
+    private static final long CLOSE_WAIT_MILLIS = 500;
+
+    private final String userId;
+    private final PrintWriter writer;
+    private final OutputStream out;
+    private final Closeable transport;  // 멈춘 쓰기를 끊을 때 닫을 하위 연결 (PrintWriter 연결, 없으면 null)
+    private final WireFormat format;    // OutputStream 연결의 전송 형식 (PrintWriter는 항상 TEXT)
+    private final PriorityLanes queue;
+    private final Executor sender;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // 묶음 전송 시간을 기다리는 중인 예약 (없으면 null)
+    private volatile ScheduledFuture<?> pendingFlush;
+    private final Object idle = new Object();
+    // 지금 이 연결을 비우고 있는 송신 스레드 (없으면 null)
+    private volatile Thread drainThread;
+    private final LongAdder droppedCounter;
+    private final ReservationSubject owner;
+    private volatile boolean running = true;
+    private volatile boolean started = false;
+    
+    // 연결 상태 (송신 스레드가 쓰기 실패를 확인하면 true)
+    private volatile boolean failed = false;
+    // 현재 진행 중인 쓰기의 시작 시각 (쓰기 중이 아니면 0, 송신 스레드만 갱신)
+    private volatile long writeStartedNanos = 0;
+    // 보내는 중이거나 보내지 못한 전송 단위 (성공하면 null)
+    private volatile List<Outbound> inFlight;
+    // 등록 직후 송신 스레드가 먼저 보낼 오프라인 알림 공급자 (없으면 null)
+    private volatile Supplier<List<ReservationNotification>> replaySource;
+
+    /**
+     * @param transport 멈춘 쓰기를 끊을 때 닫을 하위 연결 (보통 소켓, 없으면 null)
+     */
+    ClientConnection(String userId, PrintWriter writer, Closeable transport, int queueCapacity,
+                     LongAdder droppedCounter, ReservationSubject owner) {
+        this(userId, writer, null, transport, WireFormat.TEXT, queueCapacity, droppedCounter, owner);
+    }
+
+    ClientConnection(String userId, OutputStream out, WireFormat format, int queueCapacity,
+                     LongAdder droppedCounter, ReservationSubject owner) {
+        this(userId, null, out, out, format, queueCapacity, droppedCounter, owner);
+    }
+
+    private ClientConnection(String userId, PrintWriter writer, OutputStream out, Closeable transport,
+                             WireFormat format, int queueCapacity, LongAdder droppedCounter,
+                             ReservationSubject owner) {
+        this.userId = userId;
+        this.writer = writer;
+        this.out = out;
+        this.transport = transport;
+        this.format = format;
+        this.queue = new PriorityLanes(queueCapacity, owner);
+        this.droppedCounter = droppedCounter;
+        this.owner = owner;
+        this.sender = owner.getSenderPool();
+    }
+
+    /**
+     * 대기열보다 먼저 보낼 밀린 알림 지정 (start() 전에 호출)
+     * 공급자는 송신 스레드에서 실행되므로 파일 읽기가 등록 호출자를 막지 않고,
+     * 그 사이 들어온 실시간 알림은 대기열에서 밀린 알림 뒤에 전송됨
+     */
+    void replayFirst(Supplier<List<ReservationNotification>> source) {
+        this.replaySource = source;
+    }
+
+    /**
+     * 전송 시작 (start() 전에 대기열에 넣은 알림은 밀린 알림 다음에 전송됨)
+     */
+    void start() {
+        started = true;
+        schedule();
+    }
+
+    /**
+     * 송신 대기열에 메시지 추가 (알림 타입의 우선순위 레인으로)
+     * @param message 보낼 알림
+     * @param policy 대기열이 가득 찼을 때의 처리 정책
+     * @param timeoutMillis BLOCK 정책의 최대 대기 시간
+     * @return 대기열에 추가하지 못하면 false (DROP_OLDEST는 항상 true)
+     */
+    boolean offer(Outbound message, OverflowPolicy policy, long timeoutMillis) {
+        if (!running) {
+            return false;
+        }
+        NotificationPriority priority = owner.priorityOf(message.notification.getType());
+        boolean added;
+        switch (policy) {
+            case DROP_OLDEST:
+                droppedCounter.add(queue.offerDropOldest(message, priority));
+                added = true;
+                break;
+            case BLOCK:
+                try {
+                    added = queue.offer(message, priority, timeoutMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                break;
+            default:
+                added = queue.offer(message, priority);
+        }
+        if (added) {
+            scheduleCoalesced();
+        }
+        return added;
+    }
+
+    /**
+     * 전송 중지 (대기 중인 메시지는 버림)
+     */
+    void close() {
+        running = false;
+    }
+    
+    /**
+     * 전송을 중지하고 아직 보내지 못한 알림을 반환
+     * 다른 스레드(점검 스레드)에서 호출하면 멈춘 쓰기를 끊기 위해 하위 연결을 닫고,
+     * 송신 작업이 끝나기를 최대 CLOSE_WAIT_MILLIS 동안 기다림
+     */
+    List<ReservationNotification> closeAndDrain() {
+        close();
+        if (Thread.currentThread() != drainThread) {
+            if (writeStartedNanos != 0) {
+                closeTransport();
+            }
+            // 묶음 전송 시간을 기다리는 중이면 예약을 취소 (대기열은 아래에서 직접 거둠)
+            ScheduledFuture<?> flush = pendingFlush;
+            if (flush != null && flush.cancel(false)) {
+                pendingFlush = null;
+                scheduled.set(false);
+            }
+            awaitIdle();
+        }
+        List<Outbound> pending = new ArrayList<>();
+        // 멈춘 쓰기 중이었거나 실패한 알림도 전달되지 않은 것으로 봄 (중복 가능, 유실 없음)
+        List<Outbound> current = inFlight;
+        if (current != null) {
+            pending.addAll(current);
+        }
+        queue.drainTo(pending);
+        return toUndelivered(pending);
+    }
+
+    /**
+     * 하위 연결을 닫아 블로킹된 write를 예외로 깨움
+     * (PrintWriter.close()는 쓰기 중인 스레드가 잡은 잠금을 기다리므로 쓰지 않음,
+     *  transport 없이 등록된 PrintWriter 연결은 쓰기가 스스로 끝날 때까지 송신 스레드 하나를 잡고 있음)
+     */
+    private void closeTransport() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (IOException e) {
+            System.err.println("[Observer] 연결 닫기 실패: " + userId + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 예약되었거나 실행 중인 송신 작업이 끝나기를 기다림
+     * @return 시간 안에 끝났으면 true
+     */
+    private boolean awaitIdle() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_WAIT_MILLIS);
+        synchronized (idle) {
+            while (scheduled.get()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * 보내지 못한 항목을 오프라인 저장할 알림으로 변환
+     * 순번이 붙은 항목은 재전송 창에 남아 있다가, 다른 연결이 있으면 재접속 시 다시 보내지고
+     * 마지막 연결이 사라지면 ReservationSubject가 창째로 오프라인 저장하므로 여기서는 제외
+     */
+    private List<ReservationNotification> toUndelivered(List<Outbound> messages) {
+        List<ReservationNotification> undelivered = new ArrayList<>(messages.size());
+        for (Outbound message : messages) {
+            if (message.sequence == 0) {
+                undelivered.add(message.notification.forUser(userId));
+            }
+        }
+        return undelivered;
+    }
+    
+    /**
+     * 쓰기 실패가 확인된 연결인지 여부
+     */
+    boolean isFailed() {
+        return failed;
+    }
+    
+    /**
+     * 한 번의 쓰기가 stallNanos 이상 끝나지 않고 있는지 여부 (멈춘 소켓)
+     */
+    boolean isStalled(long stallNanos) {
+        long started = writeStartedNanos;
+        return started != 0 && System.nanoTime() - started > stallNanos;
+    }
+    
+    String getUserId() {
+        return userId;
+    }
+
+    /**
+     * 이 연결의 출력 대상(PrintWriter 또는 OutputStream)인지 여부
+     */
+    boolean isTarget(Object target) {
+        return target != null && (target == writer || target == out);
+    }
+
+    /**
+     * 대기 중인 메시지 수
+     */
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * 대기열을 비우는 작업을 송신 풀에 예약 (이미 예약되었거나 실행 중이면 그 작업이 처리)
+     */
+    private void schedule() {
+        if (started && running && scheduled.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    /**
+     * 묶음 전송이 켜져 있으면 설정된 시간 뒤에 송신 작업을 예약 (그동안 들어온 알림이 한 묶음이 됨)
+     * 꺼져 있거나 이미 한 묶음만큼 쌓였으면 바로 예약
+     */
+    private void scheduleCoalesced() {
+        long windowNanos = owner.getCoalesceWindowNanos();
+        if (windowNanos <= 0 || owner.getCoalesceMaxBatch() <= 1
+                || queue.size() >= owner.getCoalesceMaxBatch()) {
+            schedule();
+            return;
+        }
+        if (started && running && scheduled.compareAndSet(false, true)) {
+            pendingFlush = owner.getCoalesceTimer().schedule(() -> {
+                pendingFlush = null;
+                sender.execute(this::drain);
+            }, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 송신 작업 본체: 큐에서 꺼내 소켓으로 기록 (최대 DRAIN_BATCH개, 남으면 다시 예약)
+     */
+    private void drain() {
+        drainThread = Thread.currentThread();
+        try {
+            if (!replayBacklog()) {
+                return;
+            }
+            int sent = 0;
+            while (running && sent < DRAIN_BATCH) {
+                List<Outbound> batch;
+                try {
+                    batch = takeBatch();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (batch == null) {
+                    break;
+                }
+                sent += batch.size();
+                if (!send(batch, batch.size() > 1)) {
+                    // 이미 제거 중이면 실패한 묶음(inFlight)은 closeAndDrain을 부른 쪽이 거둠
+                    if (running) {
+                        inFlight = null;
+                        disconnect(toUndelivered(batch));
+                    }
+                    return;
+                }
+            }
+        } finally {
+            drainThread = null;
+            scheduled.set(false);
+            if (!running) {
+                synchronized (idle) {
+                    idle.notifyAll();
+                }
+            }
+            // 실행 도중 들어온 알림이 있으면 다시 예약
+            if (queue.size() > 0) {
+                scheduleCoalesced();
+            }
+        }
+    }
+
+    /**
+     * 밀린 오프라인 알림을 NOTIFICATION_BATCH 프레임 하나로 전송
+     * 전송하지 못하면 꺼낸 알림을 다시 오프라인 저장함
+     * @return 계속 송신해도 되면 true
+     */
+    private boolean replayBacklog() {
+        Supplier<List<ReservationNotification>> source = replaySource;
+        replaySource = null;
+        if (source == null) {
+            return true;
+        }
+        List<ReservationNotification> backlog = source.get();
+        if (backlog.isEmpty()) {
+            return true;
+        }
+        if (!running) {
+            owner.restoreOffline(backlog);
+            return false;
+        }
+        List<Outbound> batch = new ArrayList<>(backlog.size());
+        for (ReservationNotification notification : backlog) {
+            batch.add(new Outbound(notification, NotificationFrame.of(notification)));
+        }
+        System.out.println("[오프라인 알림] " + userId + "에게 밀린 알림 " + batch.size() + "개 전송");
+        if (send(batch, true)) {
+            return true;
+        }
+        inFlight = null;
+        owner.restoreOffline(backlog);
+        if (running) {
+            disconnect(new ArrayList<>());
+        }
+        return false;
+    }
+
+    /**
+     * 전송 단위 하나를 기록
+     * @param framed true면 개수와 관계없이 NOTIFICATION_BATCH 프레임으로 기록
+     * @return 전송에 성공했으면 true
+     */
+    private boolean send(List<Outbound> batch, boolean framed) {
+        inFlight = batch;
+        writeStartedNanos = System.nanoTime();
+        try {
+            if (framed) {
+                writeBatch(batch);
+            } else {
+                write(batch.get(0).frame);
+            }
+        } catch (Exception e) {
+            System.err.println("[Observer] 알림 전송 실패: " + userId + " - " + e.getMessage());
+            failed = true;
+        } finally {
+            writeStartedNanos = 0;
+        }
+        if (!failed) {
+            inFlight = null;
+        }
+        return !failed;
+    }
+
+    /**
+     * 끊어진 연결 정리: 대기 중인 알림까지 모아 ReservationSubject에 넘김
+     */
+    private void disconnect(List<ReservationNotification> undelivered) {
+        System.err.println("[Observer] 끊어진 연결 감지: " + userId);
+        undelivered.addAll(closeAndDrain());
+        owner.evict(this, undelivered);
+    }
+
+    /**
+     * 대기열에서 다음 전송 단위를 꺼냄
+     * 묶음 전송이 켜져 있으면 지금 쌓여 있는 알림을 최대 개수까지 함께 꺼냄
+     * (모으는 시간은 scheduleCoalesced가 예약 시점에 기다리므로 여기서는 기다리지 않음)
+     * @return 대기열이 비어 있으면 null
+     */
+    private List<Outbound> takeBatch() throws InterruptedException {
+        Outbound first = queue.poll(0);
+        if (first == null) {
+            return null;
+        }
+        List<Outbound> batch = new ArrayList<>(1);
+        batch.add(first);
+        
+        int maxBatch = owner.getCoalesceMaxBatch();
+        if (owner.getCoalesceWindowNanos() > 0 && maxBatch > 1) {
+            queue.drainTo(batch, maxBatch - 1);
+        }
+        return batch;
+    }
+
+    /**
+     * 여러 알림을 하나의 묶음 프레임으로 기록 (flush 한 번)
+     * 프로토콜: NOTIFICATION_BATCH,개수 다음 줄부터 NOTIFICATION 줄이 개수만큼 이어짐
+     * 이진 형식 연결은 프레임마다 길이가 있으므로 머리 줄 없이 이어서 기록
+     */
+    private void writeBatch(List<Outbound> batch) throws IOException {
+        if (format == WireFormat.BINARY) {
+            for (Outbound message : batch) {
+                out.write(message.frame.binaryBytes());
+            }
+            out.flush();
+            return;
+        }
+        String header = "NOTIFICATION_BATCH," + batch.size();
+        if (out != null) {
+            out.write((header + "\n").getBytes(StandardCharsets.UTF_8));
+            for (Outbound message : batch) {
+                out.write(message.frame.bytes());
+            }
+            out.flush();
+            return;
+        }
+        writer.println(header);
+        for (Outbound message : batch) {
+            writer.println(message.frame.getText());
+        }
+        if (writer.checkError()) {
+            failed = true;
+        }
+    }
+
+    /**
+     * 프레임 한 개 기록
+     * OutputStream 연결은 공유 바이트 배열을 그대로 쓰고, PrintWriter 연결은 미리 만든 문자열을 씀
+     */
+    private void write(NotificationFrame frame) throws IOException {
+        if (out != null) {
+            out.write(format == WireFormat.BINARY ? frame.binaryBytes() : frame.bytes());
+            out.flush();
+            return;
+        }
+        writer.println(frame.getText());
+        // PrintWriter는 IOException을 삼키므로 checkError()로 실패 여부 확인 (flush 포함)
+        if (writer.checkError()) {
+            failed = true;
+        }
+    }
+
+    /**
+     * 송신 대기열 항목 (오프라인 저장으로 넘길 수 있도록 원본 알림을 함께 보관)
+     * 여러 사용자에게 보낸 알림이면 notification은 다른 사용자 기준일 수 있으므로
+     * 저장할 때는 forUser(userId)로 수신자를 맞춤
+     */
+    static final class Outbound {
+        final ReservationNotification notification;
+        final NotificationFrame frame;
+        final long sequence;    // ACK 모드의 사용자별 순번 (0이면 순번 없음)
+
+        Outbound(ReservationNotification notification, NotificationFrame frame) {
+            this(notification, frame, 0);
+        }
+
+        Outbound(ReservationNotification notification, NotificationFrame frame, long sequence) {
+            this.notification = notification;
+            this.frame = frame;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package common.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 사용자 한 명의 알림 순번과 재전송 창
+ * 클라이언트가 ACK한 순번까지는 전달 완료로 보고, 그 이후 알림은 재접속 시 다시 보냄
+ * 창 크기를 넘으면 가장 오래된 미확인 알림을 꺼내 오프라인 저장으로 넘김
+ * 사용자의 마지막 연결이 끊기면 남은 미확인 알림을 모두 꺼내(drainUnacked) 오프라인 저장하고 창을 버림
+ */
+class DeliveryWindow {
+
+    private final String userId;
+    private final int capacity;
+    private final TreeMap<Long, ClientConnection.Outbound> unacked = new TreeMap<>();
+    private long nextSequence;
+    private long lastAcked;
+
+    DeliveryWindow(String userId, int capacity) {
+        this(userId, capacity, 0);
+    }
+
+    /**
+     * @param lastAcked 클라이언트가 이미 처리한 마지막 순번 (새 알림은 그다음 순번부터)
+     */
+    DeliveryWindow(String userId, int capacity, long lastAcked) {
+        this.userId = userId;
+        this.capacity = capacity;
+        this.lastAcked = lastAcked;
+        this.nextSequence = lastAcked + 1;
+    }
+
+    /**
+     * 다음 순번을 붙인 송신 항목 생성 후 재전송 창에 보관
+     * @param overflow 창이 넘쳐 밀려난 알림을 담을 목록
+     */
+    synchronized ClientConnection.Outbound assign(ReservationNotification notification,
+                                                  NotificationFrame frame,
+                                                  List<ReservationNotification> overflow) {
+        long sequence = nextSequence++;
+        ClientConnection.Outbound message =
+            new ClientConnection.Outbound(notification, frame.withSequence(sequence), sequence);
+        unacked.put(sequence, message);
+        while (unacked.size() > capacity) {
+            overflow.add(unacked.pollFirstEntry().getValue().notification.forUser(userId));
+        }
+        return message;
+    }
+
+    /**
+     * 누적 ACK 처리: sequence 이하의 알림을 모두 전달 완료로 처리
+     * @return 새로 확인된 알림 수
+     */
+    synchronized int acknowledge(long sequence) {
+        if (sequence <= lastAcked) {
+            return 0;
+        }
+        int before = unacked.size();
+        unacked.headMap(sequence, true).clear();
+        lastAcked = Math.min(sequence, nextSequence - 1);
+        return before - unacked.size();
+    }
+
+    /**
+     * 오프라인 저장으로 넘긴 알림은 재전송 대상에서 제외
+     */
+    synchronized void discard(long sequence) {
+        unacked.remove(sequence);
+    }
+
+    /**
+     * 재접속한 클라이언트에게 다시 보낼 알림 (ackedSequence 이후, 순번 순)
+     */
+    synchronized List<ClientConnection.Outbound> resumeAfter(long ackedSequence) {
+        acknowledge(ackedSequence);
+        return new ArrayList<>(unacked.values());
+    }
+
+    /**
+     * 남은 미확인 알림을 모두 꺼냄 (순번 순, 수신자 기준으로 맞춘 알림)
+     */
+    synchronized List<ReservationNotification> drainUnacked() {
+        List<ReservationNotification> pending = new ArrayList<>(unacked.size());
+        for (ClientConnection.Outbound message : unacked.values()) {
+            pending.add(message.notification.forUser(userId));
+        }
+        unacked.clear();
+        return pending;
+    }
+
+    synchronized long getLastAcked() {
+        return lastAcked;
+    }
+
+    synchronized int getUnackedCount() {
+        return unacked.size();
+    }
+}
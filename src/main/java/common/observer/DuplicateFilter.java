@@ -0,0 +1,108 @@
+package common.observer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시간 창 안의 중복 알림 판별기 (재시도로 같은 결정이 두 번 전달되는 경우)
+ * 사용자, 타입, 강의실, 날짜, 시간으로 만든 64비트 키를 고정 크기 개방 주소 해시 테이블에 보관함
+ * 키마다 만료 시각을 함께 두어 만료된 자리는 그대로 재사용하고, 테이블이 붐비면 가장 먼저
+ * 만료될 키를 밀어냄 (밀어낸 키의 중복은 놓칠 수 있음)
+ * 필드 전체가 아니라 해시만 비교하므로, 서로 다른 알림의 64비트 키가 창 안에서 우연히 같으면
+ * 뒤의 알림을 중복으로 보고 버림 (드물지만 가능하므로 창을 짧게 유지해야 함)
+ * 테이블은 키의 상위 비트로 나눈 구간별로 따로 잠그므로, 서로 다른 알림의 판별은 대부분 동시에 진행됨
+ */
+class DuplicateFilter {
+
+    // 한 키를 찾을 때 살펴보는 최대 칸 수
+    private static final int MAX_PROBE = 16;
+
+    // 잠금 구간 수 (2의 거듭제곱, 키의 상위 SEGMENT_BITS비트로 선택)
+    private static final int SEGMENT_BITS = 4;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+    private final long windowNanos;
+
+    /**
+     * @param windowMillis 같은 알림을 중복으로 보는 시간
+     * @param capacity 보관할 최대 키 수 (구간마다 2의 거듭제곱으로 올림)
+     */
+    DuplicateFilter(long windowMillis, int capacity) {
+        int perSegment = Math.max(1, capacity / segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(Integer.highestOneBit(Math.max(MAX_PROBE, perSegment - 1)) << 1);
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * 창 안에서 처음 보는 알림이면 기록하고 true, 이미 본 알림이면 false
+     */
+    boolean firstSeen(ReservationNotification notification) {
+        long key = keyOf(notification);
+        return segments[(int) (key >>> (Long.SIZE - SEGMENT_BITS))].firstSeen(key, System.nanoTime(), windowNanos);
+    }
+
+    /**
+     * 테이블 한 구간 (구간 안의 조회와 기록은 이 객체의 잠금 아래에서)
+     */
+    private static final class Segment {
+        private final long[] keys;
+        private final long[] expiries;
+        private final int mask;
+
+        Segment(int size) {
+            this.keys = new long[size];
+            this.expiries = new long[size];
+            this.mask = size - 1;
+        }
+
+        synchronized boolean firstSeen(long key, long now, long windowNanos) {
+            int start = (int) (key ^ (key >>> 32)) & mask;
+            int free = -1;
+            int oldest = start;
+            for (int i = 0; i < MAX_PROBE; i++) {
+                int slot = (start + i) & mask;
+                boolean live = keys[slot] != 0 && expiries[slot] - now > 0;
+                if (live && keys[slot] == key) {
+                    return false;
+                }
+                if (!live && free < 0) {
+                    free = slot;
+                }
+                if (expiries[slot] - expiries[oldest] < 0) {
+                    oldest = slot;
+                }
+            }
+            int slot = free >= 0 ? free : oldest;
+            keys[slot] = key;
+            expiries[slot] = now + windowNanos;
+            return true;
+        }
+    }
+
+    /**
+     * 사용자, 타입, 강의실, 날짜, 시간의 64비트 FNV-1a 해시 (0은 빈 칸 표시용이라 피함)
+     */
+    static long keyOf(ReservationNotification notification) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, notification.getUserId());
+        hash = mix(hash, notification.getType().name());
+        hash = mix(hash, notification.getRoom());
+        hash = mix(hash, notification.getDate());
+        hash = mix(hash, notification.getTime());
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        // 필드 구분자 (("ab","c")와 ("a","bc")가 같은 키가 되지 않도록)
+        hash ^= 0x1f;
+        hash *= 0x100000001b3L;
+        return hash;
+    }
+}
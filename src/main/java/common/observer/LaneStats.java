@@ -0,0 +1,56 @@
+package common.observer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 우선순위 레인 한 개의 대기 시간 통계 (대기열에 들어간 뒤 송신 스레드가 꺼낼 때까지)
+ */
+public final class LaneStats {
+
+    private final NotificationPriority priority;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LaneStats(NotificationPriority priority) {
+        this.priority = priority;
+    }
+
+    void record(long waitNanos) {
+        count.increment();
+        totalNanos.add(waitNanos);
+        maxNanos.accumulate(waitNanos);
+    }
+
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    public NotificationPriority getPriority() { return priority; }
+    public long getCount() { return count.sum(); }
+
+    /**
+     * 평균 대기 시간 (마이크로초, 기록이 없으면 0)
+     */
+    public long getAverageWaitMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / n);
+    }
+
+    /**
+     * 최대 대기 시간 (마이크로초)
+     */
+    public long getMaxWaitMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d건, 평균 %dus, 최대 %dus",
+            priority, getCount(), getAverageWaitMicros(), getMaxWaitMicros());
+    }
+}
@@ -0,0 +1,48 @@
+package common.observer;
+
+/**
+ * 서버 노드 간 알림 전달 통로 (여러 서버 노드가 로드밸런서 뒤에 있을 때 사용)
+ * 각 노드는 자기 노드에 접속한 사용자를 접속 현황에 알리고,
+ * 다른 노드에 접속한 사용자의 알림은 오프라인 저장 대신 해당 노드로 바로 보냄
+ */
+public interface NotificationBus {
+
+    /**
+     * 다른 노드에서 넘어온 알림 처리기
+     */
+    interface Listener {
+        void onRemoteNotification(ReservationNotification notification);
+    }
+
+    /**
+     * 이 노드의 ID
+     */
+    String getNodeId();
+
+    /**
+     * 수신 시작 (이 노드 앞으로 온 알림을 listener로 전달)
+     */
+    void start(Listener listener);
+
+    /**
+     * 사용자의 접속 상태를 클러스터에 알림
+     * @param online true면 이 노드가 사용자의 세션을 가짐, false면 이 노드의 세션이 모두 끝남
+     */
+    void publishPresence(String userId, boolean online);
+
+    /**
+     * 사용자의 세션을 가진 노드 ID (접속 중인 노드가 없으면 null)
+     */
+    String ownerOf(String userId);
+
+    /**
+     * 다른 노드로 알림 전송
+     * @return 전송 요청에 성공했으면 true (실패하면 호출자가 오프라인 저장)
+     */
+    boolean route(String nodeId, ReservationNotification notification);
+
+    /**
+     * 수신 중지 및 자원 해제
+     */
+    void close();
+}
@@ -0,0 +1,107 @@
+package common.observer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 한 번만 직렬화된 NOTIFICATION 프레임 (불변)
+ * 같은 알림을 여러 연결에 보낼 때 문자열 생성과 UTF-8 인코딩을 한 번만 수행하고,
+ * 모든 연결이 같은 바이트 배열을 복사 없이 공유함
+ */
+public final class NotificationFrame {
+
+    private final String text;
+    private final byte[] bytes;   // text + '\n' (UTF-8), 외부로 노출하지 않음
+    
+    // 이진 형식 연결용 프레임 (처음 필요할 때 한 번만 만듦)
+    private final ReservationNotification notification;
+    private final long sequence;
+    private volatile byte[] binary;
+
+    private NotificationFrame(String text, ReservationNotification notification, long sequence) {
+        this.text = text;
+        this.bytes = (text + "\n").getBytes(StandardCharsets.UTF_8);
+        this.notification = notification;
+        this.sequence = sequence;
+    }
+
+    /**
+     * 알림을 프레임으로 직렬화
+     * 프로토콜: NOTIFICATION,타입,메시지,강의실,날짜,요일,시간
+     * (수신자 userId는 프레임에 포함되지 않으므로 같은 내용이면 여러 사용자가 공유 가능)
+     */
+    public static NotificationFrame of(ReservationNotification notification) {
+        String text = new StringBuilder(64)
+            .append("NOTIFICATION,").append(notification.getType())
+            .append(',').append(notification.getMessage())
+            .append(',').append(notification.getRoom())
+            .append(',').append(notification.getDate())
+            .append(',').append(notification.getDay())
+            .append(',').append(notification.getTime())
+            .toString();
+        return new NotificationFrame(text, notification, 0);
+    }
+
+    /**
+     * 끝에 사용자별 순번 필드를 붙인 새 프레임 (ACK 모드용)
+     * 프로토콜: NOTIFICATION,타입,메시지,강의실,날짜,요일,시간,순번
+     */
+    public NotificationFrame withSequence(long sequence) {
+        return new NotificationFrame(text + "," + sequence, notification, sequence);
+    }
+
+    /**
+     * 줄바꿈을 제외한 프레임 문자열 (PrintWriter 클라이언트용)
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 줄바꿈을 포함한 UTF-8 바이트의 읽기 전용 뷰 (호출마다 독립된 position, 내용 복사 없음)
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * 줄바꿈을 포함한 바이트 길이
+     */
+    public int length() {
+        return bytes.length;
+    }
+
+    /**
+     * 같은 패키지의 송신 스레드가 OutputStream에 그대로 쓰기 위한 내부 배열 (수정 금지)
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * BinaryCodec 형식 프레임의 읽기 전용 뷰 (WireFormat.BINARY 연결용)
+     */
+    public ByteBuffer asBinaryBuffer() {
+        return ByteBuffer.wrap(binaryBytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * 이진 프레임 내부 배열 (여러 연결이 공유, 수정 금지)
+     * 동시에 처음 호출되면 두 번 만들어질 수 있지만 내용은 같음
+     */
+    byte[] binaryBytes() {
+        byte[] encoded = binary;
+        if (encoded == null) {
+            ByteBuffer out = ByteBuffer.allocate(notification.binaryFrameSize(sequence));
+            notification.writeBinary(out, sequence);
+            encoded = out.array();
+            binary = encoded;
+        }
+        return encoded;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,22 @@
+package common.observer;
+
+/**
+ * 알림 전송 우선순위 (송신 대기열의 레인)
+ * 레인마다 따로 대기하고, 송신 스레드는 가중치 비율로 높은 레인부터 꺼냄
+ */
+public enum NotificationPriority {
+    HIGH,       // 곧 시작하는 수업의 취소 등 바로 알려야 하는 알림
+    NORMAL,     // 거절, 변경 처리 결과
+    LOW;        // 일상적인 승인 알림 (관리자 일괄 승인 등으로 몰려 들어옴)
+
+    /**
+     * 알림 타입의 기본 우선순위
+     */
+    public static NotificationPriority defaultFor(ReservationNotification.NotificationType type) {
+        switch (type) {
+            case CANCELLED: return HIGH;
+            case APPROVED: return LOW;
+            default: return NORMAL;
+        }
+    }
+}
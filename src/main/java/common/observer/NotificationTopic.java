@@ -0,0 +1,63 @@
+package common.observer;
+
+import java.util.Objects;
+
+/**
+ * 알림 구독 주제 (강의실 / 건물 / 역할 단위)
+ * 예: NotificationTopic.room("908호"), NotificationTopic.role("학생")
+ */
+public final class NotificationTopic {
+
+    public enum Kind {
+        ROOM,       // 강의실
+        BUILDING,   // 건물
+        ROLE        // 사용자 역할 (학생, 교수, 조교 등)
+    }
+
+    private final Kind kind;
+    private final String key;
+
+    private NotificationTopic(Kind kind, String key) {
+        if (kind == null) {
+            throw new IllegalArgumentException("kind는 null일 수 없습니다.");
+        }
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("key는 null이거나 공백일 수 없습니다.");
+        }
+        this.kind = kind;
+        this.key = key;
+    }
+
+    public static NotificationTopic room(String room) {
+        return new NotificationTopic(Kind.ROOM, room);
+    }
+
+    public static NotificationTopic building(String building) {
+        return new NotificationTopic(Kind.BUILDING, building);
+    }
+
+    public static NotificationTopic role(String role) {
+        return new NotificationTopic(Kind.ROLE, role);
+    }
+
+    public Kind getKind() { return kind; }
+    public String getKey() { return key; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NotificationTopic that = (NotificationTopic) o;
+        return kind == that.kind && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, key);
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + key;
+    }
+}
@@ -0,0 +1,147 @@
+package common.observer;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 서버 내부 ReservationObserver 비동기 전달기
+ * 발행자는 관찰자별 우편함에 넣고 바로 반환하며, 공유 스레드 풀이 우편함을 비움
+ * 한 관찰자의 우편함은 동시에 한 스레드만 처리하므로 관찰자별 전달 순서가 보장됨
+ */
+class ObserverDispatcher {
+
+    // 한 번 실행에서 처리할 최대 알림 수 (한 관찰자가 풀을 독점하지 않도록)
+    private static final int DRAIN_BATCH = 64;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor;
+    private final int maxPendingPerObserver;
+    private final LongAdder droppedCount = new LongAdder();
+
+    ObserverDispatcher(int threads, int maxPendingPerObserver) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "observer-dispatch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxPendingPerObserver = maxPendingPerObserver;
+    }
+
+    /**
+     * 관찰자 등록
+     * @param types 받을 알림 타입 (비어 있으면 모든 타입)
+     */
+    void register(ReservationObserver observer, Set<ReservationNotification.NotificationType> types) {
+        EnumSet<ReservationNotification.NotificationType> filter = types.isEmpty()
+            ? EnumSet.allOf(ReservationNotification.NotificationType.class)
+            : EnumSet.copyOf(types);
+        subscriptions.add(new Subscription(observer, filter));
+    }
+
+    /**
+     * 관찰자 제거 (이미 우편함에 들어간 알림은 버림)
+     */
+    boolean remove(ReservationObserver observer) {
+        boolean removed = false;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.observer == observer) {
+                subscription.active = false;
+                subscriptions.remove(subscription);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 알림 타입을 구독한 관찰자의 우편함에 넣음 (블로킹하지 않음)
+     */
+    void publish(ReservationNotification notification) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.types.contains(notification.getType())) {
+                subscription.enqueue(notification);
+            }
+        }
+    }
+
+    int getObserverCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * 우편함이 가득 차 버려진 알림 수
+     */
+    long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 관찰자 한 개의 구독 정보와 우편함
+     */
+    private final class Subscription implements Runnable {
+        final ReservationObserver observer;
+        final EnumSet<ReservationNotification.NotificationType> types;
+        final Queue<ReservationNotification> mailbox = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean active = true;
+
+        Subscription(ReservationObserver observer, EnumSet<ReservationNotification.NotificationType> types) {
+            this.observer = observer;
+            this.types = types;
+        }
+
+        void enqueue(ReservationNotification notification) {
+            if (pending.incrementAndGet() > maxPendingPerObserver) {
+                pending.decrementAndGet();
+                droppedCount.increment();
+                return;
+            }
+            mailbox.add(notification);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int processed = 0;
+            ReservationNotification notification;
+            while (processed < DRAIN_BATCH && (notification = mailbox.poll()) != null) {
+                pending.decrementAndGet();
+                processed++;
+                if (!active) {
+                    continue;
+                }
+                try {
+                    observer.update(notification);
+                } catch (Exception e) {
+                    System.err.println("[Observer] 관찰자 처리 실패: " + e.getMessage());
+                }
+            }
+            scheduled.set(false);
+            // 처리 도중 들어온 알림이 있으면 다시 예약
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package common.observer;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 오프라인 알림 관리자
@@ -14,6 +20,20 @@ public class OfflineNotificationManager {
     private static OfflineNotificationManager instance;
     private final String notificationDir;
     
+    // 두 모드와 모든 프로세스가 같은 문자셋을 써야 파일이 호환됨 (플랫폼 기본값에 의존하지 않음)
+    private static final Charset FILE_CHARSET = StandardCharsets.UTF_8;
+    
+    // ✅ 다중 프로세스 공유 모드 (여러 서버 프로세스가 같은 데이터 디렉토리를 사용할 때)
+    private volatile boolean sharedStoreMode = false;
+    
+    // 사용자 파일별 JVM 내부 잠금 (FileLock은 프로세스 단위라 같은 JVM 안의 스레드는 따로 막아야 함)
+    // 사용 중인 스레드 수를 세어 마지막 사용자가 빠지면 항목을 제거 (사용자 수만큼 계속 쌓이지 않도록)
+    private final Map<String, FileMonitor> fileLocks = new ConcurrentHashMap<>();
+    
+    // 중복 알림 저장 방지 (null이면 사용 안 함)
+    private volatile DuplicateFilter duplicateFilter;
+    private final LongAdder suppressedCount = new LongAdder();
+    
     private OfflineNotificationManager(String baseDir) {
         this.notificationDir = baseDir + "/notifications";
         ensureNotificationDirectory();
@@ -48,35 +68,115 @@ public class OfflineNotificationManager {
         }
     }
     
+    /**
+     * 다중 프로세스 공유 모드 설정
+     * 켜져 있으면 모든 읽기/쓰기가 사용자 파일 단위의 FileChannel 잠금 아래에서 수행되고,
+     * 삭제 대신 파일을 비워(truncate) 다른 프로세스가 열어 둔 파일에 쓴 알림이 사라지지 않게 함
+     * @param enabled 공유 모드 사용 여부
+     */
+    public void setSharedStoreMode(boolean enabled) {
+        this.sharedStoreMode = enabled;
+        System.out.println("[OfflineNotification] 공유 저장소 모드: " + (enabled ? "ON" : "OFF"));
+    }
+    
+    public boolean isSharedStoreMode() {
+        return sharedStoreMode;
+    }
+    
+    /**
+     * 중복 저장 방지 창 설정
+     * 켜져 있으면 windowMillis 안에 같은 사용자/타입/강의실/날짜/시간의 알림이 다시 saveNotification으로
+     * 들어와도 파일에 추가하지 않음 (saveNotifications 대량 저장에는 적용하지 않음)
+     * @param windowMillis 중복으로 보는 시간 (0이면 사용 안 함)
+     */
+    public void setDuplicateWindow(long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("windowMillis는 0 이상이어야 합니다.");
+        }
+        this.duplicateFilter = windowMillis > 0 ? new DuplicateFilter(windowMillis, 4096) : null;
+    }
+    
+    /**
+     * 중복으로 판단되어 저장하지 않은 알림 수
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.sum();
+    }
+    
     /**
      * 오프라인 알림 저장
      * @param userId 사용자 ID
      * @param notification 알림 정보
      */
     public void saveNotification(String userId, ReservationNotification notification) {
+        DuplicateFilter filter = duplicateFilter;
+        if (filter != null && !filter.firstSeen(notification.forUser(userId))) {
+            suppressedCount.increment();
+            System.out.println("[OfflineNotification] 중복 알림 무시: " + userId + " - " + notification.getMessage());
+            return;
+        }
         String filePath = getNotificationFilePath(userId);
         
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
-            // 형식: 타입|메시지|강의실|날짜|요일|시간|타임스탬프
-            String line = String.format("%s|%s|%s|%s|%s|%s|%d",
-                notification.getType(),
-                notification.getMessage(),
-                notification.getRoom(),
-                notification.getDate(),
-                notification.getDay(),
-                notification.getTime(),
-                System.currentTimeMillis()
-            );
-            
-            writer.write(line);
-            writer.newLine();
-            
+        if (sharedStoreMode) {
+            try {
+                appendShared(filePath, formatLine(notification) + System.lineSeparator());
+                System.out.println("[OfflineNotification] 알림 저장: " + userId + " - " + notification.getMessage());
+            } catch (IOException e) {
+                System.err.println("[OfflineNotification] 알림 저장 실패: " + e.getMessage());
+            }
+            return;
+        }
+        
+        try {
+            appendLocal(filePath, formatLine(notification) + System.lineSeparator());
             System.out.println("[OfflineNotification] 알림 저장: " + userId + " - " + notification.getMessage());
         } catch (IOException e) {
             System.err.println("[OfflineNotification] 알림 저장 실패: " + e.getMessage());
         }
     }
     
+    /**
+     * 여러 사용자의 오프라인 알림을 한 번에 저장 (건물 폐쇄 등 대량 취소 알림용)
+     * 알림을 저장 파일(사용자별 샤드) 단위로 묶고, 파일 경로 순서대로 파일마다 한 번씩만 열어 기록함
+     * @param notifications 저장할 알림 목록 (수신자는 각 알림의 userId)
+     * @return 사용자별 저장 성공 여부와 처리량
+     */
+    public BulkSaveResult saveNotifications(Collection<ReservationNotification> notifications) {
+        long startNanos = System.nanoTime();
+        
+        // 파일 경로 -> 해당 파일에 추가할 내용 (경로 순 정렬로 디렉토리를 순차 접근)
+        Map<String, StringBuilder> shards = new TreeMap<>();
+        Map<String, String> shardOwners = new HashMap<>();
+        for (ReservationNotification notification : notifications) {
+            String userId = notification.getUserId();
+            String filePath = getNotificationFilePath(userId);
+            shards.computeIfAbsent(filePath, k -> new StringBuilder())
+                  .append(formatLine(notification))
+                  .append(System.lineSeparator());
+            shardOwners.put(filePath, userId);
+        }
+        
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (Map.Entry<String, StringBuilder> shard : shards.entrySet()) {
+            String userId = shardOwners.get(shard.getKey());
+            try {
+                if (sharedStoreMode) {
+                    appendShared(shard.getKey(), shard.getValue().toString());
+                } else {
+                    appendLocal(shard.getKey(), shard.getValue().toString());
+                }
+                results.put(userId, true);
+            } catch (IOException e) {
+                results.put(userId, false);
+                System.err.println("[OfflineNotification] 알림 저장 실패: " + userId + " - " + e.getMessage());
+            }
+        }
+        
+        BulkSaveResult result = new BulkSaveResult(results, notifications.size(), System.nanoTime() - startNanos);
+        System.out.println("[OfflineNotification] 대량 저장: " + result);
+        return result;
+    }
+    
     /**
      * 사용자의 모든 오프라인 알림 조회
      * @param userId 사용자 ID
@@ -91,7 +191,17 @@ public class OfflineNotificationManager {
             return notifications;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        if (sharedStoreMode) {
+            try {
+                parseLines(userId, readLocked(filePath, false), notifications);
+                System.out.println("[OfflineNotification] 알림 조회: " + userId + " - " + notifications.size() + "개");
+            } catch (IOException e) {
+                System.err.println("[OfflineNotification] 알림 조회 실패: " + e.getMessage());
+            }
+            return notifications;
+        }
+        
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, FILE_CHARSET))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 ReservationNotification notification = parseNotification(userId, line);
@@ -117,14 +227,43 @@ public class OfflineNotificationManager {
         File file = new File(filePath);
         
         if (file.exists()) {
-            if (file.delete()) {
+            try {
+                if (sharedStoreMode) {
+                    truncateShared(filePath);
+                } else {
+                    deleteLocal(filePath);
+                }
                 System.out.println("[OfflineNotification] 알림 삭제 완료: " + userId);
-            } else {
-                System.err.println("[OfflineNotification] 알림 삭제 실패: " + userId);
+            } catch (IOException e) {
+                System.err.println("[OfflineNotification] 알림 삭제 실패: " + userId + " - " + e.getMessage());
             }
         }
     }
     
+    /**
+     * 사용자의 오프라인 알림을 조회하면서 동시에 삭제
+     * getNotifications() 후 clearNotifications()를 따로 호출하면
+     * 그 사이에 저장된 알림이 함께 지워질 수 있으므로 한 번의 잠금 안에서 처리
+     * @param userId 사용자 ID
+     * @return 삭제 전 알림 목록
+     */
+    public List<ReservationNotification> drainNotifications(String userId) {
+        List<ReservationNotification> notifications = new ArrayList<>();
+        String filePath = getNotificationFilePath(userId);
+        
+        if (!new File(filePath).exists()) {
+            return notifications;
+        }
+        
+        try {
+            parseLines(userId, readLocked(filePath, true), notifications);
+            System.out.println("[OfflineNotification] 알림 전달 후 삭제: " + userId + " - " + notifications.size() + "개");
+        } catch (IOException e) {
+            System.err.println("[OfflineNotification] 알림 조회 실패: " + e.getMessage());
+        }
+        return notifications;
+    }
+    
     /**
      * 사용자의 알림 개수 조회
      * @param userId 사용자 ID
@@ -141,6 +280,223 @@ public class OfflineNotificationManager {
         return notificationDir + "/" + userId + "_notifications.txt";
     }
     
+    /**
+     * 파일 한 줄 형식
+     * 형식: 타입|메시지|강의실|날짜|요일|시간|타임스탬프
+     */
+    private String formatLine(ReservationNotification notification) {
+        return String.format("%s|%s|%s|%s|%s|%s|%d",
+            notification.getType(),
+            notification.getMessage(),
+            notification.getRoom(),
+            notification.getDate(),
+            notification.getDay(),
+            notification.getTime(),
+            System.currentTimeMillis()
+        );
+    }
+    
+    /**
+     * 사용자 파일별 JVM 내부 잠금 (사용 횟수는 fileLocks의 해당 키 갱신 안에서만 바뀜)
+     */
+    private static final class FileMonitor {
+        private int users;
+    }
+    
+    /**
+     * 파일 단위 작업 (잠금 안에서 실행)
+     */
+    private interface FileTask<T> {
+        T run() throws IOException;
+    }
+    
+    /**
+     * 사용자 파일의 JVM 내부 잠금을 잡고 작업 실행
+     * 잠금 객체는 사용하는 동안만 fileLocks에 남아 있으므로, 같은 경로는 항상 같은 객체로 막힘
+     */
+    private <T> T withFileLock(String filePath, FileTask<T> task) throws IOException {
+        FileMonitor monitor = fileLocks.compute(filePath, (k, m) -> {
+            if (m == null) {
+                m = new FileMonitor();
+            }
+            m.users++;
+            return m;
+        });
+        try {
+            synchronized (monitor) {
+                return task.run();
+            }
+        } finally {
+            fileLocks.computeIfPresent(filePath, (k, m) -> --m.users == 0 ? null : m);
+        }
+    }
+    
+    /**
+     * 사용 중인 파일 잠금 수 (테스트용)
+     */
+    int getActiveFileLockCount() {
+        return fileLocks.size();
+    }
+    
+    /**
+     * 단일 프로세스 모드에서 파일 끝에 추가
+     */
+    private void appendLocal(String filePath, String text) throws IOException {
+        withFileLock(filePath, () -> {
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, FILE_CHARSET, true))) {
+                writer.write(text);
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * 배타 잠금을 잡고 파일 끝에 한 번에 추가 (다른 프로세스의 추가와 섞이지 않음)
+     * FileLock은 채널을 닫을 때 함께 풀림
+     */
+    private void appendShared(String filePath, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(FILE_CHARSET));
+        withFileLock(filePath, () -> {
+            try (FileChannel channel = FileChannel.open(Paths.get(filePath),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.lock();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * 파일 전체를 읽음
+     * @param truncate true면 배타 잠금을 잡고 읽은 뒤 파일을 비움, false면 공유 잠금으로 읽기만 함
+     */
+    private String readLocked(String filePath, boolean truncate) throws IOException {
+        return withFileLock(filePath, () -> {
+            if (!sharedStoreMode) {
+                // 단일 프로세스 모드: JVM 내부 잠금만으로 충분
+                Path path = Paths.get(filePath);
+                String content = new String(Files.readAllBytes(path), FILE_CHARSET);
+                if (truncate) {
+                    Files.deleteIfExists(path);
+                }
+                return content;
+            }
+            
+            Set<StandardOpenOption> options = truncate
+                ? EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : EnumSet.of(StandardOpenOption.READ);
+            try (FileChannel channel = FileChannel.open(Paths.get(filePath), options)) {
+                channel.lock(0L, Long.MAX_VALUE, !truncate);
+                String content = readAll(channel);
+                if (truncate) {
+                    channel.truncate(0);
+                }
+                return content;
+            }
+        });
+    }
+    
+    /**
+     * 단일 프로세스 모드에서 파일 삭제 (appendLocal과 같은 잠금 아래에서, 쓰는 도중에 지우지 않도록)
+     */
+    private void deleteLocal(String filePath) throws IOException {
+        withFileLock(filePath, () -> {
+            Files.deleteIfExists(Paths.get(filePath));
+            return null;
+        });
+    }
+    
+    /**
+     * 배타 잠금을 잡고 파일을 비움 (삭제하지 않음)
+     */
+    private void truncateShared(String filePath) throws IOException {
+        withFileLock(filePath, () -> {
+            try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.WRITE)) {
+                channel.lock();
+                channel.truncate(0);
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * 배타 잠금을 잡은 뒤 기준 시각보다 오래된 줄만 지우고 나머지는 남김
+     * 잠금을 기다리는 사이 다른 프로세스가 추가한 알림은 타임스탬프가 새로우므로 지워지지 않음
+     * @return 지운 줄이 있으면 true
+     */
+    private boolean pruneShared(String filePath, long cutoffMillis) throws IOException {
+        return withFileLock(filePath, () -> {
+            Path path = Paths.get(filePath);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                channel.lock();
+                // 타임스탬프가 없는 줄은 잠금을 잡은 뒤의 파일 수정 시각으로 판단
+                long modified = Files.getLastModifiedTime(path).toMillis();
+                StringBuilder kept = new StringBuilder();
+                boolean dropped = false;
+                for (String line : readAll(channel).split("\\R")) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    if (timestampOf(line, modified) < cutoffMillis) {
+                        dropped = true;
+                    } else {
+                        kept.append(line).append(System.lineSeparator());
+                    }
+                }
+                if (dropped) {
+                    ByteBuffer buffer = ByteBuffer.wrap(kept.toString().getBytes(FILE_CHARSET));
+                    channel.truncate(0);
+                    long position = 0;
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                }
+                return dropped;
+            }
+        });
+    }
+    
+    private static String readAll(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // 끝까지 읽기
+        }
+        buffer.flip();
+        return FILE_CHARSET.decode(buffer).toString();
+    }
+    
+    /**
+     * 줄 끝의 저장 시각 (없거나 해석할 수 없으면 fallback)
+     */
+    private static long timestampOf(String line, long fallback) {
+        int separator = line.lastIndexOf('|');
+        if (separator < 0) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(line.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+    
+    /**
+     * 여러 줄의 파일 내용을 알림 목록으로 변환
+     */
+    private void parseLines(String userId, String content, List<ReservationNotification> out) {
+        for (String line : content.split("\\R")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            ReservationNotification notification = parseNotification(userId, line);
+            if (notification != null) {
+                out.add(notification);
+            }
+        }
+    }
+    
     /**
      * 알림 문자열 파싱
      */
@@ -189,7 +545,20 @@ public class OfflineNotificationManager {
         if (files != null) {
             for (File file : files) {
                 if (file.lastModified() < sevenDaysAgo) {
-                    if (file.delete()) {
+                    if (sharedStoreMode) {
+                        // 공유 모드: 다른 프로세스가 열어 둔 파일일 수 있으므로 삭제하지 않고,
+                        // 잠금을 잡은 뒤 줄별 저장 시각을 다시 확인해 오래된 줄만 지움
+                        if (file.length() == 0) {
+                            continue;
+                        }
+                        try {
+                            if (pruneShared(file.getPath(), sevenDaysAgo)) {
+                                deletedCount++;
+                            }
+                        } catch (IOException e) {
+                            System.err.println("[OfflineNotification] 알림 정리 실패: " + e.getMessage());
+                        }
+                    } else if (file.delete()) {
                         deletedCount++;
                     }
                 }
@@ -200,4 +569,55 @@ public class OfflineNotificationManager {
             System.out.println("[OfflineNotification] 오래된 알림 " + deletedCount + "개 정리 완료");
         }
     }
+    
+    /**
+     * 대량 저장 결과 (사용자별 성공 여부 + 처리량)
+     */
+    public static class BulkSaveResult {
+        private final Map<String, Boolean> userResults;
+        private final int notificationCount;
+        private final long elapsedNanos;
+        
+        BulkSaveResult(Map<String, Boolean> userResults, int notificationCount, long elapsedNanos) {
+            this.userResults = Collections.unmodifiableMap(userResults);
+            this.notificationCount = notificationCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        /**
+         * 사용자별 저장 성공 여부
+         */
+        public Map<String, Boolean> getUserResults() { return userResults; }
+        public boolean isSaved(String userId) { return Boolean.TRUE.equals(userResults.get(userId)); }
+        public int getNotificationCount() { return notificationCount; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        
+        public int getSuccessCount() {
+            int count = 0;
+            for (Boolean saved : userResults.values()) {
+                if (saved) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        
+        public int getFailureCount() {
+            return userResults.size() - getSuccessCount();
+        }
+        
+        /**
+         * 초당 저장한 알림 수
+         */
+        public double getThroughputPerSecond() {
+            return elapsedNanos == 0 ? 0 : notificationCount * 1_000_000_000.0 / elapsedNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("알림 %d개, 사용자 %d명 (성공 %d, 실패 %d), %.1fms, %.0f건/초",
+                notificationCount, userResults.size(), getSuccessCount(), getFailureCount(),
+                elapsedNanos / 1_000_000.0, getThroughputPerSecond());
+        }
+    }
 }
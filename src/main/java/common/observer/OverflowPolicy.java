@@ -0,0 +1,10 @@
+package common.observer;
+
+/**
+ * 클라이언트 송신 대기열이 가득 찼을 때의 처리 정책
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST,        // 가장 오래된 대기 알림을 버리고 새 알림 추가
+    BLOCK,              // 제한 시간까지 자리가 날 때를 기다리고, 끝내 실패하면 오프라인 저장
+    SPILL_TO_OFFLINE    // 즉시 오프라인 저장소로 넘김 (다음 로그인 시 전달)
+}
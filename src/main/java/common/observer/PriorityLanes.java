@@ -0,0 +1,209 @@
+package common.observer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 우선순위 레인별 송신 대기열 (연결 하나에 하나)
+ * 레인은 전체 용량을 함께 쓰고, 꺼낼 때는 레인별 가중치만큼 높은 레인부터 번갈아 꺼냄
+ * (높은 레인이 계속 차 있어도 낮은 레인이 한 바퀴에 가중치만큼은 전송됨)
+ */
+class PriorityLanes {
+
+    private static final NotificationPriority[] PRIORITIES = NotificationPriority.values();
+
+    private final List<ArrayDeque<Entry>> lanes;
+    private final int[] credits = new int[PRIORITIES.length];
+    private final int capacity;
+    private final ReservationSubject owner;
+    private int size;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    PriorityLanes(int capacity, ReservationSubject owner) {
+        this.capacity = capacity;
+        this.owner = owner;
+        this.lanes = new ArrayList<>(PRIORITIES.length);
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            lanes.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * 자리가 있으면 추가
+     * @return 가득 차 있으면 false
+     */
+    boolean offer(ClientConnection.Outbound message, NotificationPriority priority) {
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                return false;
+            }
+            add(message, priority);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 최대 timeoutMillis 동안 자리가 나기를 기다렸다가 추가
+     */
+    boolean offer(ClientConnection.Outbound message, NotificationPriority priority, long timeoutMillis)
+            throws InterruptedException {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lockInterruptibly();
+        try {
+            while (size >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            add(message, priority);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가득 차 있으면 가장 낮은 레인의 가장 오래된 알림을 버리고 추가
+     * @return 버린 알림 수
+     */
+    int offerDropOldest(ClientConnection.Outbound message, NotificationPriority priority) {
+        lock.lock();
+        try {
+            int dropped = 0;
+            while (size >= capacity) {
+                for (int i = lanes.size() - 1; i >= 0; i--) {
+                    if (lanes.get(i).pollFirst() != null) {
+                        size--;
+                        dropped++;
+                        break;
+                    }
+                }
+            }
+            add(message, priority);
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 최대 timeoutNanos 동안 기다려 다음 알림을 꺼냄
+     * @return 시간 안에 알림이 없으면 null
+     */
+    ClientConnection.Outbound poll(long timeoutNanos) throws InterruptedException {
+        long nanos = timeoutNanos;
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금 대기 중인 알림을 기다리지 않고 최대 maxElements개까지 가중치 순서로 꺼냄
+     * @return 꺼낸 알림 수
+     */
+    int drainTo(List<ClientConnection.Outbound> target, int maxElements) {
+        lock.lock();
+        try {
+            int count = 0;
+            while (count < maxElements && size > 0) {
+                target.add(next());
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 남은 알림을 높은 레인부터 모두 꺼냄
+     */
+    void drainTo(List<ClientConnection.Outbound> target) {
+        lock.lock();
+        try {
+            for (ArrayDeque<Entry> lane : lanes) {
+                Entry entry;
+                while ((entry = lane.pollFirst()) != null) {
+                    target.add(entry.message);
+                }
+            }
+            size = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(ClientConnection.Outbound message, NotificationPriority priority) {
+        lanes.get(priority.ordinal()).addLast(new Entry(message, System.nanoTime()));
+        size++;
+        notEmpty.signal();
+    }
+
+    /**
+     * 가중치 순서로 다음 레인을 골라 꺼냄 (잠금 안에서, size > 0일 때만 호출)
+     * 알림이 있는 레인의 몫을 모두 쓰면 가중치만큼 다시 채움
+     */
+    private ClientConnection.Outbound next() {
+        int lane = pickLane();
+        if (lane < 0) {
+            int[] weights = owner.getLaneWeights();
+            System.arraycopy(weights, 0, credits, 0, credits.length);
+            lane = pickLane();
+        }
+        credits[lane]--;
+        Entry entry = lanes.get(lane).pollFirst();
+        size--;
+        notFull.signal();
+        owner.recordLaneWait(PRIORITIES[lane], System.nanoTime() - entry.enqueuedNanos);
+        return entry.message;
+    }
+
+    private int pickLane() {
+        for (int i = 0; i < lanes.size(); i++) {
+            if (credits[i] > 0 && !lanes.get(i).isEmpty()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Entry {
+        final ClientConnection.Outbound message;
+        final long enqueuedNanos;
+
+        Entry(ClientConnection.Outbound message, long enqueuedNanos) {
+            this.message = message;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package common.observer;
 
+import common.utils.BinaryCodec;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * 예약 알림 정보 클래스
@@ -28,6 +31,12 @@ public class ReservationNotification {
     public ReservationNotification(String userId, String userName, String room, 
                                    String date, String day, String time, 
                                    NotificationType type, String message) {
+        this(userId, userName, room, date, day, time, type, message, LocalDateTime.now());
+    }
+    
+    private ReservationNotification(String userId, String userName, String room,
+                                    String date, String day, String time,
+                                    NotificationType type, String message, LocalDateTime timestamp) {
         this.userId = userId;
         this.userName = userName;
         this.room = room;
@@ -35,10 +44,22 @@ public class ReservationNotification {
         this.day = day;
         this.time = time;
         this.type = type;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
         this.message = message;
     }
     
+    /**
+     * 같은 내용의 알림을 다른 사용자 앞으로 복사 (타임스탬프 유지)
+     * @param userId 수신자 ID
+     * @return 수신자가 같으면 자기 자신
+     */
+    public ReservationNotification forUser(String userId) {
+        if (Objects.equals(this.userId, userId)) {
+            return this;
+        }
+        return new ReservationNotification(userId, "", room, date, day, time, type, message, timestamp);
+    }
+    
     // Getters
     public String getUserId() { return userId; }
     public String getUserName() { return userName; }
@@ -50,6 +71,58 @@ public class ReservationNotification {
     public LocalDateTime getTimestamp() { return timestamp; }
     public String getMessage() { return message; }
     
+    /**
+     * 이진 프레임으로 기록 (BinaryCodec.TYPE_NOTIFICATION)
+     * 페이로드: 순번(varint, 0이면 없음), 타입, 메시지, 강의실, 날짜, 요일, 시간
+     * (텍스트 NOTIFICATION 프레임과 마찬가지로 수신자 userId는 넣지 않음)
+     */
+    public void writeBinary(ByteBuffer out, long sequence) {
+        BinaryCodec.writeHeader(out, BinaryCodec.TYPE_NOTIFICATION, binaryPayloadSize(sequence));
+        BinaryCodec.putVarLong(out, sequence);
+        BinaryCodec.putString(out, type.name());
+        BinaryCodec.putString(out, message);
+        BinaryCodec.putString(out, room);
+        BinaryCodec.putString(out, date);
+        BinaryCodec.putString(out, day);
+        BinaryCodec.putString(out, time);
+    }
+    
+    /**
+     * 헤더를 포함한 이진 프레임 크기
+     */
+    public int binaryFrameSize(long sequence) {
+        return BinaryCodec.frameSize(binaryPayloadSize(sequence));
+    }
+    
+    /**
+     * TYPE_NOTIFICATION 페이로드를 알림으로 변환 (클라이언트용)
+     * @param userId 수신자 (프레임에 없으므로 클라이언트가 지정)
+     */
+    public static ReservationNotification fromBinary(ByteBuffer payload, String userId) {
+        BinaryCodec.getVarLong(payload);
+        NotificationType type = NotificationType.valueOf(BinaryCodec.getString(payload));
+        String message = BinaryCodec.getString(payload);
+        String room = BinaryCodec.getString(payload);
+        String date = BinaryCodec.getString(payload);
+        String day = BinaryCodec.getString(payload);
+        String time = BinaryCodec.getString(payload);
+        return new ReservationNotification(userId, "", room, date, day, time, type, message);
+    }
+    
+    /**
+     * TYPE_NOTIFICATION 페이로드의 순번 (ACK 모드, position은 옮기지 않음)
+     */
+    public static long binarySequence(ByteBuffer payload) {
+        return BinaryCodec.getVarLong(payload.duplicate());
+    }
+    
+    private int binaryPayloadSize(long sequence) {
+        return BinaryCodec.varLongSize(sequence) + BinaryCodec.stringSize(type.name())
+            + BinaryCodec.stringSize(message) + BinaryCodec.stringSize(room)
+            + BinaryCodec.stringSize(date) + BinaryCodec.stringSize(day)
+            + BinaryCodec.stringSize(time);
+    }
+    
     @Override
     public String toString() {
         return String.format("[%s] %s - %s님의 %s %s(%s) %s 예약이 %s되었습니다.",
@@ -1,8 +1,19 @@
 package common.observer;
 
+import common.utils.WireFormat;
+import java.io.Closeable;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Subject - 예약 상태 변경을 클라이언트에게 알림 (서버-클라이언트 통신 버전)
@@ -13,14 +24,90 @@ public class ReservationSubject {
     // Singleton 패턴
     private static ReservationSubject instance;
     
-    // userId별로 PrintWriter(소켓 출력 스트림) 관리
-    private final Map<String, List<PrintWriter>> clientWriters;
+    // 클라이언트별 송신 대기열 기본 크기
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    
+    // userId별로 클라이언트 연결(PrintWriter + 송신 대기열) 관리
+    // 목록 변경은 ConcurrentHashMap.compute 안에서만 일어나므로 사용자 단위로만 직렬화되고,
+    // 목록 자체는 CopyOnWriteArrayList라 알림 전송 경로는 잠금 없이 순회함
+    private final Map<String, List<ClientConnection>> clientWriters;
+    
+    // 새로 등록되는 클라이언트의 송신 대기열 크기
+    private volatile int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    
+    // 송신 대기열이 가득 찼을 때의 처리 정책
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.SPILL_TO_OFFLINE;
+    private volatile long blockTimeoutMillis = 100;
+    
+    // 사용자별 묶음 전송 (0이면 사용 안 함)
+    private volatile long coalesceWindowNanos = 0;
+    private volatile int coalesceMaxBatch = 1;
+    
+    // 알림 타입별 우선순위 레인과 레인별 가중치 (HIGH:NORMAL:LOW 기본 8:4:1), 레인 대기 시간 통계
+    private volatile Map<ReservationNotification.NotificationType, NotificationPriority> priorities = defaultPriorities();
+    private volatile int[] laneWeights = {8, 4, 1};
+    private final Map<NotificationPriority, LaneStats> laneStats = new EnumMap<>(NotificationPriority.class);
+    
+    // 재시도로 들어온 중복 notifyUser 무시 (null이면 사용 안 함)
+    private volatile DuplicateFilter duplicateFilter;
+    private final LongAdder suppressedCount = new LongAdder();
+    
+    // 등록 시 오프라인 알림 자동 전송 여부
+    private volatile boolean replayOnRegister = false;
+    
+    // ACK 모드: 사용자별 순번과 재전송 창 (창 크기 0이면 사용 안 함)
+    private final Map<String, DeliveryWindow> deliveryWindows = new ConcurrentHashMap<>();
+    private volatile int ackWindowSize = 0;
+    
+    // 대기열 초과 통계
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder spilledCount = new LongAdder();
+    
+    // 주제별 구독자 (주제 -> userId 집합) 와 역방향 색인 (userId -> 주제 집합)
+    private final Map<NotificationTopic, Set<String>> topicSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<NotificationTopic>> userTopics = new ConcurrentHashMap<>();
+    
+    // 이 수 이상의 수신자에게 보낼 때는 병렬로 송신 대기열에 넣음
+    private static final int PARALLEL_FANOUT_THRESHOLD = 256;
+    
+    // 모든 클라이언트 연결이 함께 쓰는 송신 스레드 풀 (접속자 수와 관계없이 스레드 수 고정)
+    // 쓰기가 멈춘 연결은 스레드 하나를 잡고 있으므로 startHealthSweeper로 정리해야 함
+    private static final int SENDER_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private final ExecutorService senderPool;
+    // 묶음 전송 시간이 지나면 송신 작업을 풀에 넘기는 타이머 (기다리는 동안 송신 스레드를 잡지 않도록)
+    private final ScheduledExecutorService coalesceTimer;
+    
+    // 서버 내부 관찰자(감사 로그, 통계, 캐시 등)에 대한 비동기 전달
+    private final ObserverDispatcher observerDispatcher =
+        new ObserverDispatcher(Math.max(2, Runtime.getRuntime().availableProcessors()), 10_000);
+    
+    // 다른 서버 노드와의 알림 전달 통로 (단일 노드면 null)
+    private volatile NotificationBus notificationBus;
+    private final LongAdder remoteRoutedCount = new LongAdder();
+    
+    // 끊어진 연결 정리
+    private final LongAdder evictedCount = new LongAdder();
+    private ScheduledExecutorService healthSweeper;
     
     // ✅ 오프라인 알림 관리자
     private OfflineNotificationManager offlineManager;
     
     private ReservationSubject() {
         this.clientWriters = new ConcurrentHashMap<>();
+        AtomicInteger sequence = new AtomicInteger();
+        this.senderPool = Executors.newFixedThreadPool(SENDER_THREADS, r -> {
+            Thread thread = new Thread(r, "notify-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coalesceTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notify-coalesce-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            laneStats.put(priority, new LaneStats(priority));
+        }
     }
     
     public static synchronized ReservationSubject getInstance() {
@@ -39,59 +126,523 @@ public class ReservationSubject {
         System.out.println("[오프라인 알림] 관리자 초기화 완료");
     }
     
+    /**
+     * 클라이언트별 송신 대기열 크기 설정 (이후 등록되는 클라이언트부터 적용)
+     * @param queueCapacity 대기열에 쌓을 수 있는 최대 알림 수
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity는 1 이상이어야 합니다.");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+    
+    /**
+     * 송신 대기열 초과 정책 설정
+     * @param policy 처리 정책
+     * @param blockTimeoutMillis BLOCK 정책에서 자리가 나기를 기다릴 최대 시간
+     */
+    public void setOverflowPolicy(OverflowPolicy policy, long blockTimeoutMillis) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy는 null일 수 없습니다.");
+        }
+        if (blockTimeoutMillis < 0) {
+            throw new IllegalArgumentException("blockTimeoutMillis는 0 이상이어야 합니다.");
+        }
+        this.overflowPolicy = policy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        System.out.println("[Observer] 송신 대기열 초과 정책: " + policy);
+    }
+    
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    
+    /**
+     * 묶음 전송 설정
+     * 켜져 있으면 연결마다 첫 알림 이후 windowMillis 동안(최대 maxBatchSize개) 도착한 알림을
+     * NOTIFICATION_BATCH 프레임 하나로 모아 한 번에 기록함 (관리자 일괄 승인 시 쓰기/flush 횟수 감소)
+     * 모으는 동안에는 송신 스레드를 쓰지 않고, 시간이 지나면 그때까지 쌓인 알림을 꺼내 보냄
+     * @param windowMillis 모으는 시간 (0이면 사용 안 함)
+     * @param maxBatchSize 한 묶음의 최대 알림 수
+     */
+    public void setCoalescing(long windowMillis, int maxBatchSize) {
+        if (windowMillis < 0 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("windowMillis는 0 이상, maxBatchSize는 1 이상이어야 합니다.");
+        }
+        this.coalesceWindowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.coalesceMaxBatch = maxBatchSize;
+        System.out.println("[Observer] 묶음 전송: " + (windowMillis > 0 ? windowMillis + "ms / 최대 " + maxBatchSize + "건" : "OFF"));
+    }
+    
+    /**
+     * 연결들이 전송에 쓰는 공유 스레드 풀
+     */
+    ExecutorService getSenderPool() {
+        return senderPool;
+    }
+    
+    /**
+     * 묶음 전송 시간을 재는 공유 타이머
+     */
+    ScheduledExecutorService getCoalesceTimer() {
+        return coalesceTimer;
+    }
+    
+    long getCoalesceWindowNanos() {
+        return coalesceWindowNanos;
+    }
+    
+    int getCoalesceMaxBatch() {
+        return coalesceMaxBatch;
+    }
+    
+    /**
+     * 중복 알림 무시 창 설정
+     * 켜져 있으면 windowMillis 안에 같은 사용자/타입/강의실/날짜/시간으로 다시 들어온 notifyUser 호출은
+     * 소켓 전송, 오프라인 저장, 관찰자 알림 없이 바로 반환함
+     * @param windowMillis 중복으로 보는 시간 (0이면 사용 안 함)
+     */
+    public void setDuplicateWindow(long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("windowMillis는 0 이상이어야 합니다.");
+        }
+        this.duplicateFilter = windowMillis > 0 ? new DuplicateFilter(windowMillis, 4096) : null;
+    }
+    
+    /**
+     * 중복으로 판단되어 무시한 notifyUser 호출 수
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.sum();
+    }
+    
+    /**
+     * 알림 타입의 전송 우선순위 변경 (이후 대기열에 들어가는 알림부터 적용)
+     */
+    public void setPriority(ReservationNotification.NotificationType type, NotificationPriority priority) {
+        if (type == null || priority == null) {
+            throw new IllegalArgumentException("type과 priority는 null일 수 없습니다.");
+        }
+        Map<ReservationNotification.NotificationType, NotificationPriority> updated = new EnumMap<>(priorities);
+        updated.put(type, priority);
+        this.priorities = updated;
+    }
+    
+    public NotificationPriority getPriority(ReservationNotification.NotificationType type) {
+        return priorities.get(type);
+    }
+    
+    /**
+     * 레인 가중치 설정: 모든 레인에 알림이 밀려 있을 때 한 바퀴에 레인별로 꺼내는 개수
+     */
+    public void setLaneWeight(NotificationPriority priority, int weight) {
+        if (priority == null || weight < 1) {
+            throw new IllegalArgumentException("weight는 1 이상이어야 합니다.");
+        }
+        int[] updated = laneWeights.clone();
+        updated[priority.ordinal()] = weight;
+        this.laneWeights = updated;
+    }
+    
+    /**
+     * 레인별 대기 시간 통계 (대기열에 들어간 뒤 송신 스레드가 꺼낼 때까지)
+     */
+    public Map<NotificationPriority, LaneStats> getLaneStats() {
+        return Collections.unmodifiableMap(laneStats);
+    }
+    
+    public void resetLaneStats() {
+        laneStats.values().forEach(LaneStats::reset);
+    }
+    
+    NotificationPriority priorityOf(ReservationNotification.NotificationType type) {
+        return priorities.get(type);
+    }
+    
+    int[] getLaneWeights() {
+        return laneWeights;
+    }
+    
+    void recordLaneWait(NotificationPriority priority, long waitNanos) {
+        laneStats.get(priority).record(waitNanos);
+    }
+    
+    private static Map<ReservationNotification.NotificationType, NotificationPriority> defaultPriorities() {
+        Map<ReservationNotification.NotificationType, NotificationPriority> defaults =
+            new EnumMap<>(ReservationNotification.NotificationType.class);
+        for (ReservationNotification.NotificationType type : ReservationNotification.NotificationType.values()) {
+            defaults.put(type, NotificationPriority.defaultFor(type));
+        }
+        return defaults;
+    }
+    
+    /**
+     * 노드 간 알림 전달 통로 설정 (여러 서버 노드 구성)
+     * 이 노드에 접속한 사용자는 접속 현황에 알리고, 다른 노드에 접속한 사용자의 알림은
+     * 오프라인 저장 대신 그 노드로 보냄
+     * @param bus 전달 통로 (null이면 단일 노드로 동작)
+     */
+    public void setNotificationBus(NotificationBus bus) {
+        NotificationBus previous = this.notificationBus;
+        if (previous != null && previous != bus) {
+            previous.close();
+        }
+        this.notificationBus = bus;
+        if (bus != null) {
+            bus.start(this::deliverRemote);
+            for (String userId : clientWriters.keySet()) {
+                bus.publishPresence(userId, true);
+            }
+            System.out.println("[Observer] 노드 간 알림 전달 사용: " + bus.getNodeId());
+        }
+    }
+    
+    /**
+     * 등록 시 오프라인 알림 자동 전송 설정
+     * 켜져 있으면 registerClient 직후 새 연결의 송신 스레드가 저장된 오프라인 알림을 꺼내
+     * NOTIFICATION_BATCH 프레임 하나로 보낸 뒤 실시간 알림을 이어서 보냄
+     * (서버가 getNotifications/clearNotifications를 직접 호출하지 않아도 되고, 로그인 응답이 밀린 알림 수에 영향받지 않음)
+     */
+    public void setReplayOnRegister(boolean enabled) {
+        this.replayOnRegister = enabled;
+        System.out.println("[Observer] 등록 시 오프라인 알림 전송: " + (enabled ? "ON" : "OFF"));
+    }
+    
+    public boolean isReplayOnRegister() {
+        return replayOnRegister;
+    }
+    
+    /**
+     * ACK 모드 사용
+     * NOTIFICATION 프레임 끝에 사용자별 순번이 붙고, 클라이언트가 NOTIFICATION_ACK,순번 으로
+     * 확인할 때까지 최근 windowSize개의 알림을 메모리에 보관했다가 재접속 시 다시 보냄
+     * 창을 넘친 미확인 알림과, 사용자의 마지막 연결이 끊기거나 제거될 때 남은 미확인 알림은 오프라인 저장소로 넘김
+     * (재접속 시 마지막 확인 순번을 넘기면 순번은 그다음부터 이어짐)
+     * (우선순위 레인 때문에 순번이 뒤바뀌어 도착할 수 있으므로 클라이언트는 빠짐없이 받은 마지막 순번을 ACK)
+     * @param windowSize 사용자별 재전송 창 크기
+     */
+    public void enableAcknowledgements(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize는 1 이상이어야 합니다.");
+        }
+        this.ackWindowSize = windowSize;
+        System.out.println("[Observer] ACK 모드 사용 (재전송 창 " + windowSize + "건)");
+    }
+    
+    /**
+     * ACK 모드 해제 (보관 중인 재전송 창도 비움)
+     */
+    public void disableAcknowledgements() {
+        this.ackWindowSize = 0;
+        deliveryWindows.clear();
+    }
+    
+    /**
+     * 클라이언트 ACK 처리 (누적: 해당 순번 이하 모두 확인)
+     * @param userId 사용자 ID
+     * @param sequence 클라이언트가 처리한 마지막 순번
+     */
+    public void acknowledge(String userId, long sequence) {
+        DeliveryWindow window = deliveryWindows.get(userId);
+        if (window != null) {
+            window.acknowledge(sequence);
+        }
+    }
+    
+    /**
+     * 클라이언트가 보낸 한 줄이 ACK 프레임이면 처리
+     * 프로토콜: NOTIFICATION_ACK,순번
+     * @return ACK 프레임이었으면 true (서버는 다른 명령 처리로 넘기지 않아도 됨)
+     */
+    public boolean handleAck(String userId, String line) {
+        if (line == null || !line.startsWith("NOTIFICATION_ACK,")) {
+            return false;
+        }
+        try {
+            acknowledge(userId, Long.parseLong(line.substring("NOTIFICATION_ACK,".length()).trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("[Observer] 잘못된 ACK: " + line);
+        }
+        return true;
+    }
+    
+    /**
+     * 사용자가 마지막으로 확인한 순번 (ACK 모드가 아니거나 기록이 없으면 0)
+     */
+    public long getLastAckedSequence(String userId) {
+        DeliveryWindow window = deliveryWindows.get(userId);
+        return window != null ? window.getLastAcked() : 0;
+    }
+    
+    /**
+     * 사용자에게 보냈지만 아직 확인되지 않은 알림 수
+     */
+    public int getUnackedCount(String userId) {
+        DeliveryWindow window = deliveryWindows.get(userId);
+        return window != null ? window.getUnackedCount() : 0;
+    }
+    
     /**
      * 클라이언트 PrintWriter 등록 (서버에서 호출)
+     * 클라이언트마다 송신 대기열이 만들어지고, 전송은 공유 송신 스레드 풀이 처리함
+     * ACK 모드에서는 서버가 알고 있는 마지막 확인 순번 이후의 알림을 먼저 다시 보냄
+     * @param userId 사용자 ID
+     * @param writer 클라이언트로 전송할 PrintWriter
+     */
+    public void registerClient(String userId, PrintWriter writer) {
+        register(new ClientConnection(userId, writer, null, queueCapacity, droppedCount, this), 0);
+    }
+    
+    /**
+     * 클라이언트 PrintWriter를 하위 소켓과 함께 등록
+     * 쓰기가 멈춘 연결을 제거할 때 transport를 닫아 블로킹된 쓰기를 끊고 송신 스레드를 돌려받음
+     * (PrintWriter만 등록하면 멈춘 쓰기가 스스로 끝날 때까지 송신 스레드 하나가 묶임)
+     * @param transport 멈춘 쓰기를 끊을 때 닫을 연결 (보통 클라이언트 Socket)
+     */
+    public void registerClient(String userId, PrintWriter writer, Closeable transport) {
+        register(new ClientConnection(userId, writer, transport, queueCapacity, droppedCount, this), 0);
+    }
+    
+    /**
+     * 재접속한 클라이언트 PrintWriter 등록 (ACK 모드)
      * @param userId 사용자 ID
      * @param writer 클라이언트로 전송할 PrintWriter
+     * @param lastAckedSequence 클라이언트가 마지막으로 처리한 순번 (이후 알림만 다시 보냄)
+     */
+    public void registerClient(String userId, PrintWriter writer, long lastAckedSequence) {
+        register(new ClientConnection(userId, writer, null, queueCapacity, droppedCount, this), lastAckedSequence);
+    }
+    
+    /**
+     * 클라이언트 OutputStream 등록 (서버에서 호출)
+     * 바이트 스트림 연결에는 미리 인코딩된 프레임 바이트를 변환 없이 그대로 기록함
+     * @param userId 사용자 ID
+     * @param out 클라이언트 소켓 출력 스트림
      */
-    public synchronized void registerClient(String userId, PrintWriter writer) {
-        clientWriters.computeIfAbsent(userId, k -> Collections.synchronizedList(new ArrayList<>()))
-                     .add(writer);
+    public void registerClient(String userId, OutputStream out) {
+        registerClient(userId, out, WireFormat.TEXT);
+    }
+    
+    /**
+     * 바이트 스트림 클라이언트를 협상한 전송 형식으로 등록
+     * @param format WireFormat.negotiate로 정한 형식 (BINARY면 알림을 BinaryCodec 프레임으로 보냄)
+     */
+    public void registerClient(String userId, OutputStream out, WireFormat format) {
+        register(new ClientConnection(userId, out, format, queueCapacity, droppedCount, this), 0);
+    }
+    
+    private void register(ClientConnection connection, long lastAckedSequence) {
+        String userId = connection.getUserId();
+        int windowSize = ackWindowSize;
+        OfflineNotificationManager manager = offlineManager;
+        if (replayOnRegister && manager != null) {
+            connection.replayFirst(() -> manager.drainNotifications(userId));
+        }
+        resend(connection, lastAckedSequence);
+        boolean[] first = new boolean[1];
+        clientWriters.compute(userId, (k, writers) -> {
+            first[0] = writers == null;
+            if (windowSize > 0 && lastAckedSequence > 0) {
+                // 창이 없으면(이전 연결이 모두 끊겨 오프라인 저장됨) 클라이언트가 아는 순번 다음부터 이어서 부여
+                deliveryWindows.computeIfAbsent(k, id -> new DeliveryWindow(id, windowSize, lastAckedSequence));
+            }
+            List<ClientConnection> updated = writers != null ? writers : new CopyOnWriteArrayList<>();
+            updated.add(connection);
+            return updated;
+        });
+        connection.start();
+        NotificationBus bus = notificationBus;
+        if (first[0] && bus != null) {
+            bus.publishPresence(userId, true);
+        }
         System.out.println("[Observer] " + userId + " 클라이언트 등록 완료");
     }
     
+    /**
+     * ACK 모드: 확인되지 않은 알림을 새 연결의 대기열 맨 앞에 넣음 (등록 전에 호출해 실시간 알림보다 먼저 전송)
+     */
+    private void resend(ClientConnection connection, long lastAckedSequence) {
+        DeliveryWindow window = deliveryWindows.get(connection.getUserId());
+        if (ackWindowSize == 0 || window == null) {
+            return;
+        }
+        List<ClientConnection.Outbound> pending = window.resumeAfter(lastAckedSequence);
+        for (ClientConnection.Outbound message : pending) {
+            if (!connection.offer(message, OverflowPolicy.SPILL_TO_OFFLINE, 0)) {
+                window.discard(message.sequence);
+                spillToOffline(message.notification);
+            }
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("[Observer] " + connection.getUserId() + " 미확인 알림 " + pending.size() + "건 재전송");
+        }
+    }
+    
+    /**
+     * 수신자 한 명에게 보낼 송신 항목 생성 (ACK 모드면 순번을 붙이고 재전송 창에 보관)
+     * @param notification 수신자 기준 알림
+     * @param frame 순번 없는 공통 프레임
+     */
+    private ClientConnection.Outbound outboundFor(ReservationNotification notification, NotificationFrame frame) {
+        int windowSize = ackWindowSize;
+        if (windowSize == 0) {
+            return new ClientConnection.Outbound(notification, frame);
+        }
+        String userId = notification.getUserId();
+        DeliveryWindow window = deliveryWindows.computeIfAbsent(userId, k -> new DeliveryWindow(k, windowSize));
+        List<ReservationNotification> overflow = new ArrayList<>(0);
+        ClientConnection.Outbound message = window.assign(notification, frame, overflow);
+        if (!overflow.isEmpty()) {
+            spilledCount.add(overflow.size());
+            saveOffline(overflow);
+        }
+        return message;
+    }
+    
+    /**
+     * 대기열에 넣지 못한 항목 처리: 재전송 창에서 빼고 오프라인 저장으로 넘길 수 있게 함
+     */
+    private void discardSequence(ClientConnection.Outbound message) {
+        if (message.sequence != 0) {
+            DeliveryWindow window = deliveryWindows.get(message.notification.getUserId());
+            if (window != null) {
+                window.discard(message.sequence);
+            }
+        }
+    }
+    
     /**
      * 클라이언트 PrintWriter 제거 (서버에서 호출)
      * @param userId 사용자 ID
      * @param writer 제거할 PrintWriter
      */
-    public synchronized void unregisterClient(String userId, PrintWriter writer) {
-        List<PrintWriter> writers = clientWriters.get(userId);
-        if (writers != null) {
-            writers.remove(writer);
-            if (writers.isEmpty()) {
-                clientWriters.remove(userId);
+    public void unregisterClient(String userId, PrintWriter writer) {
+        unregister(userId, writer);
+    }
+    
+    /**
+     * 클라이언트 OutputStream 제거 (서버에서 호출)
+     * @param userId 사용자 ID
+     * @param out 제거할 OutputStream
+     */
+    public void unregisterClient(String userId, OutputStream out) {
+        unregister(userId, out);
+    }
+    
+    private void unregister(String userId, Object target) {
+        List<ClientConnection> removed = new ArrayList<>(1);
+        boolean[] noneLeft = new boolean[1];
+        DeliveryWindow[] window = new DeliveryWindow[1];
+        clientWriters.computeIfPresent(userId, (k, writers) -> {
+            for (ClientConnection connection : writers) {
+                if (connection.isTarget(target)) {
+                    removed.add(connection);
+                }
             }
+            writers.removeAll(removed);
+            noneLeft[0] = writers.isEmpty();
+            if (noneLeft[0]) {
+                window[0] = deliveryWindows.remove(k);
+            }
+            return noneLeft[0] ? null : writers;
+        });
+        if (removed.isEmpty()) {
+            return;
+        }
+        if (!noneLeft[0]) {
+            // 남은 연결이 같은 알림을 받으므로 대기 중인 알림은 버림
+            removed.forEach(ClientConnection::close);
             System.out.println("[Observer] " + userId + " 클라이언트 제거 완료");
+            return;
+        }
+        // 마지막 연결: 대기열에 남아 아직 보내지 못한 알림은 오프라인 저장 (evict와 같은 처리)
+        List<ReservationNotification> undelivered = new ArrayList<>();
+        for (ClientConnection connection : removed) {
+            undelivered.addAll(connection.closeAndDrain());
+        }
+        System.out.println("[Observer] " + userId + " 클라이언트 제거 완료");
+        publishOffline(userId);
+        spillUnacked(window[0]);
+        saveOffline(undelivered);
+    }
+    
+    /**
+     * 마지막 연결이 사라진 사용자의 재전송 창에 남은 미확인 알림을 오프라인 저장 (창은 이미 제거된 상태)
+     */
+    private void spillUnacked(DeliveryWindow window) {
+        if (window == null) {
+            return;
+        }
+        List<ReservationNotification> unacked = window.drainUnacked();
+        if (!unacked.isEmpty()) {
+            spilledCount.add(unacked.size());
+            saveOffline(unacked);
         }
     }
     
+    /**
+     * 서버 내부 관찰자 등록
+     * 알림은 관찰자마다 발행 순서대로, 발행 스레드와 별도인 스레드 풀에서 비동기로 전달됨
+     * @param observer 관찰자
+     * @param types 받을 알림 타입 (생략하면 모든 타입)
+     */
+    public void registerObserver(ReservationObserver observer, ReservationNotification.NotificationType... types) {
+        if (observer == null) {
+            throw new IllegalArgumentException("observer는 null일 수 없습니다.");
+        }
+        observerDispatcher.register(observer, new HashSet<>(Arrays.asList(types)));
+        System.out.println("[Observer] 관찰자 등록 완료" + (types.length > 0 ? " " + Arrays.toString(types) : ""));
+    }
+    
+    /**
+     * 서버 내부 관찰자 제거
+     */
+    public void removeObserver(ReservationObserver observer) {
+        if (observerDispatcher.remove(observer)) {
+            System.out.println("[Observer] 관찰자 제거 완료");
+        }
+    }
+    
+    /**
+     * 등록된 관찰자에게 알림 발행 (블로킹하지 않음)
+     * notifyUser/notifyUsers/broadcast/publish에서도 자동으로 호출됨
+     */
+    public void notifyObservers(ReservationNotification notification) {
+        observerDispatcher.publish(notification);
+    }
+    
     /**
      * 특정 사용자에게 알림 전송 (서버에서 호출)
-     * ✅ 온라인 사용자에게는 즉시 전송, 오프라인은 저장
+     * ✅ 온라인 사용자에게는 송신 대기열에 넣고 바로 반환, 오프라인은 저장
      * @param notification 알림 정보
      */
     public void notifyUser(ReservationNotification notification) {
         String userId = notification.getUserId();
-        List<PrintWriter> writers = clientWriters.get(userId);
+        DuplicateFilter filter = duplicateFilter;
+        if (filter != null && !filter.firstSeen(notification)) {
+            suppressedCount.increment();
+            System.out.println("[Observer] " + userId + " 중복 알림 무시: " + notification.getMessage());
+            return;
+        }
+        List<ClientConnection> writers = clientWriters.get(userId);
+        notifyObservers(notification);
         
         if (writers != null && !writers.isEmpty()) {
-            // ✅ 온라인: 즉시 전송
+            // ✅ 온라인: 송신 대기열에 추가 (실제 전송은 공유 송신 스레드 풀이 처리)
             System.out.println("[Observer] " + userId + "에게 알림 전송: " + notification.getMessage());
             
-            String notificationMessage = createNotificationMessage(notification);
-            
-            synchronized (writers) {
-                for (PrintWriter writer : writers) {
-                    try {
-                        writer.println(notificationMessage);
-                        writer.flush();
-                    } catch (Exception e) {
-                        System.err.println("[Observer] 알림 전송 실패: " + e.getMessage());
-                    }
-                }
+            ClientConnection.Outbound message = outboundFor(notification, NotificationFrame.of(notification));
+            if (enqueue(writers, message)) {
+                System.out.println("[Observer 패턴] " + userId + "에게 알림 전송 요청 완료");
+            } else {
+                // ✅ 모든 연결의 대기열이 가득 참: 알림을 잃지 않도록 오프라인 저장
+                discardSequence(message);
+                spillToOffline(notification);
             }
-            System.out.println("[Observer 패턴] " + userId + "에게 알림 전송 완료");
+        } else if (routeRemote(notification)) {
+            // ✅ 다른 노드에 접속 중: 해당 노드로 전달
+            System.out.println("[Observer] " + userId + "는 다른 노드에 접속 중 ➡️ 노드 간 전달");
         } else {
             // ✅ 오프라인: 파일로 저장
             System.out.println("[Observer] " + userId + "에게 등록된 클라이언트가 없습니다. ➡️ 오프라인 알림 저장");
@@ -106,25 +657,356 @@ public class ReservationSubject {
     }
     
     /**
-     * 알림 메시지 생성
+     * 끊어진 연결 제거 (송신 스레드 또는 점검 스레드에서 호출)
+     * 사용자의 모든 연결이 끊어졌다면 보내지 못한 알림을 오프라인 저장소로 넘김
+     * @param connection 끊어진 연결
+     * @param undelivered 아직 보내지 못한 알림
+     */
+    void evict(ClientConnection connection, List<ReservationNotification> undelivered) {
+        String userId = connection.getUserId();
+        // [0]: 제거 여부, [1]: 남은 연결 없음
+        boolean[] result = new boolean[2];
+        DeliveryWindow[] window = new DeliveryWindow[1];
+        clientWriters.computeIfPresent(userId, (k, writers) -> {
+            result[0] = writers.remove(connection);
+            result[1] = writers.isEmpty();
+            if (result[0] && result[1]) {
+                window[0] = deliveryWindows.remove(k);
+            }
+            return result[1] ? null : writers;
+        });
+        if (!result[0]) {
+            return;
+        }
+        boolean noneLeft = result[1];
+        evictedCount.increment();
+        System.out.println("[Observer] " + userId + " 끊어진 클라이언트 제거");
+        if (noneLeft) {
+            publishOffline(userId);
+            spillUnacked(window[0]);
+        }
+        
+        if (noneLeft && !undelivered.isEmpty()) {
+            // ✅ 남은 연결이 없음: 전달하지 못한 알림을 오프라인 저장
+            if (offlineManager != null) {
+                offlineManager.saveNotifications(undelivered);
+            } else {
+                System.err.println("[오프라인 알림] 관리자가 초기화되지 않았습니다.");
+            }
+        }
+    }
+    
+    /**
+     * 끊어진 연결 주기 점검 시작
+     * 쓰기 실패가 확인되었거나 한 번의 쓰기가 stallTimeoutMillis 이상 멈춘 연결을 제거함
+     * (멈춘 연결은 하위 스트림/소켓을 닫아 블로킹된 쓰기를 끊음)
+     * @param intervalMillis 점검 주기
+     * @param stallTimeoutMillis 멈춘 연결로 판단할 쓰기 지연 시간
+     */
+    public synchronized void startHealthSweeper(long intervalMillis, long stallTimeoutMillis) {
+        if (intervalMillis <= 0 || stallTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("점검 주기와 지연 시간은 0보다 커야 합니다.");
+        }
+        stopHealthSweeper();
+        healthSweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notify-health-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long stallNanos = TimeUnit.MILLISECONDS.toNanos(stallTimeoutMillis);
+        healthSweeper.scheduleWithFixedDelay(() -> sweepDeadConnections(stallNanos),
+            intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        System.out.println("[Observer] 연결 점검 시작 (주기 " + intervalMillis + "ms)");
+    }
+    
+    /**
+     * 끊어진 연결 주기 점검 중지
+     */
+    public synchronized void stopHealthSweeper() {
+        if (healthSweeper != null) {
+            healthSweeper.shutdownNow();
+            healthSweeper = null;
+        }
+    }
+    
+    /**
+     * 모든 연결을 한 번 점검해 끊어진 연결을 제거
+     * @return 제거한 연결 수
+     */
+    int sweepDeadConnections(long stallNanos) {
+        List<ClientConnection> dead = new ArrayList<>();
+        for (List<ClientConnection> writers : clientWriters.values()) {
+            for (ClientConnection connection : writers) {
+                if (connection.isStalled(stallNanos) || connection.isFailed()) {
+                    dead.add(connection);
+                }
+            }
+        }
+        for (ClientConnection connection : dead) {
+            evict(connection, connection.closeAndDrain());
+        }
+        return dead.size();
+    }
+    
+    /**
+     * 여러 사용자에게 한 번에 알림 전송 (건물 폐쇄 등 대량 알림용)
+     * 온라인 사용자에게는 즉시 전송하고, 오프라인 사용자 알림은 모아서 한 번에 저장
+     * @param notifications 알림 목록 (수신자는 각 알림의 userId)
+     * @return 오프라인 저장 결과 (관리자가 초기화되지 않았으면 null)
+     */
+    public OfflineNotificationManager.BulkSaveResult notifyUsers(Collection<ReservationNotification> notifications) {
+        List<ReservationNotification> offline = new ArrayList<>();
+        int delivered = 0;
+        
+        for (ReservationNotification notification : notifications) {
+            notifyObservers(notification);
+            List<ClientConnection> writers = clientWriters.get(notification.getUserId());
+            if (writers == null || writers.isEmpty()) {
+                if (!routeRemote(notification)) {
+                    offline.add(notification);
+                }
+                continue;
+            }
+            ClientConnection.Outbound message = outboundFor(notification, NotificationFrame.of(notification));
+            if (enqueue(writers, message)) {
+                delivered++;
+            } else {
+                discardSequence(message);
+                spilledCount.increment();
+                offline.add(notification);
+            }
+        }
+        System.out.println("[Observer] 대량 알림: 온라인 전송 " + delivered + "건, 오프라인 " + offline.size() + "건");
+        return saveOffline(offline);
+    }
+    
+    /**
+     * 같은 내용의 알림을 여러 사용자에게 전송 (강의실 폐쇄 공지 등)
+     * 프레임은 한 번만 직렬화하고 모든 연결이 같은 바이트를 공유함
+     * @param template 보낼 알림 (userId는 무시되고 각 수신자 앞으로 저장됨)
+     * @param userIds 수신자 목록
+     * @return 오프라인 저장 결과 (관리자가 초기화되지 않았으면 null)
+     */
+    public OfflineNotificationManager.BulkSaveResult broadcast(ReservationNotification template,
+                                                               Collection<String> userIds) {
+        return fanOut(template, userIds, false);
+    }
+    
+    /**
+     * 주제 구독
+     * @param topic 강의실/건물/역할 주제
+     * @param userId 구독할 사용자 ID
+     */
+    public void subscribe(NotificationTopic topic, String userId) {
+        topicSubscribers.computeIfAbsent(topic, k -> ConcurrentHashMap.newKeySet()).add(userId);
+        userTopics.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(topic);
+    }
+    
+    /**
+     * 주제 구독 해제
+     */
+    public void unsubscribe(NotificationTopic topic, String userId) {
+        Set<String> subscribers = topicSubscribers.get(topic);
+        if (subscribers != null) {
+            subscribers.remove(userId);
+        }
+        Set<NotificationTopic> topics = userTopics.get(userId);
+        if (topics != null) {
+            topics.remove(topic);
+        }
+    }
+    
+    /**
+     * 사용자의 모든 주제 구독 해제 (회원 탈퇴 등)
+     */
+    public void unsubscribeAll(String userId) {
+        Set<NotificationTopic> topics = userTopics.remove(userId);
+        if (topics != null) {
+            for (NotificationTopic topic : topics) {
+                Set<String> subscribers = topicSubscribers.get(topic);
+                if (subscribers != null) {
+                    subscribers.remove(userId);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 주제의 구독자 목록
      */
-    private String createNotificationMessage(ReservationNotification notification) {
-        // 프로토콜: NOTIFICATION,타입,메시지,강의실,날짜,요일,시간
-        return String.format("NOTIFICATION,%s,%s,%s,%s,%s,%s",
-            notification.getType(),
-            notification.getMessage(),
-            notification.getRoom(),
-            notification.getDate(),
-            notification.getDay(),
-            notification.getTime()
-        );
+    public Set<String> getSubscribers(NotificationTopic topic) {
+        Set<String> subscribers = topicSubscribers.get(topic);
+        return subscribers != null ? Collections.unmodifiableSet(subscribers) : Collections.emptySet();
+    }
+    
+    /**
+     * 주제 구독자 전체에게 알림 발행
+     * 접속 중인 구독자에게는 송신 대기열로, 접속하지 않은 구독자는 오프라인 저장
+     * @param topic 발행할 주제
+     * @param template 보낼 알림 (userId는 무시되고 각 구독자 앞으로 저장됨)
+     * @return 오프라인 저장 결과 (관리자가 초기화되지 않았으면 null)
+     */
+    public OfflineNotificationManager.BulkSaveResult publish(NotificationTopic topic,
+                                                             ReservationNotification template) {
+        Set<String> subscribers = topicSubscribers.get(topic);
+        if (subscribers == null || subscribers.isEmpty()) {
+            System.out.println("[Observer] " + topic + " 구독자가 없습니다.");
+            return saveOffline(Collections.emptyList());
+        }
+        List<String> snapshot = new ArrayList<>(subscribers);
+        System.out.println("[Observer] " + topic + " 발행: 구독자 " + snapshot.size() + "명");
+        return fanOut(template, snapshot, snapshot.size() >= PARALLEL_FANOUT_THRESHOLD);
+    }
+    
+    /**
+     * 같은 프레임을 여러 사용자에게 전송하고, 전달하지 못한 사용자는 오프라인 저장
+     * @param parallel true면 수신자별 대기열 추가를 병렬로 수행
+     */
+    private OfflineNotificationManager.BulkSaveResult fanOut(ReservationNotification template,
+                                                             Collection<String> userIds, boolean parallel) {
+        // ACK 모드가 아니면 모든 수신자가 같은 프레임을 공유, ACK 모드면 공통 프레임 뒤에 순번만 붙임
+        NotificationFrame frame = NotificationFrame.of(template);
+        ClientConnection.Outbound shared = new ClientConnection.Outbound(template, frame);
+        Queue<ReservationNotification> offline = new ConcurrentLinkedQueue<>();
+        LongAdder delivered = new LongAdder();
+        notifyObservers(template);
+        
+        (parallel ? userIds.parallelStream() : userIds.stream()).forEach(userId -> {
+            List<ClientConnection> writers = clientWriters.get(userId);
+            if (writers != null && !writers.isEmpty()) {
+                ClientConnection.Outbound message =
+                    ackWindowSize == 0 ? shared : outboundFor(template.forUser(userId), frame);
+                if (enqueue(writers, message)) {
+                    delivered.increment();
+                    return;
+                }
+                discardSequence(message);
+                spilledCount.increment();
+            } else if (routeRemote(template.forUser(userId))) {
+                delivered.increment();
+                return;
+            }
+            offline.add(template.forUser(userId));
+        });
+        System.out.println("[Observer] 브로드캐스트: 온라인 전송 " + delivered.sum() + "명, 오프라인 " + offline.size() + "명");
+        return saveOffline(new ArrayList<>(offline));
+    }
+    
+    /**
+     * 온라인으로 전달하지 못한 알림을 한 번에 오프라인 저장
+     */
+    private OfflineNotificationManager.BulkSaveResult saveOffline(List<ReservationNotification> offline) {
+        if (offline.isEmpty()) {
+            return new OfflineNotificationManager.BulkSaveResult(new LinkedHashMap<>(), 0, 0);
+        }
+        if (offlineManager == null) {
+            System.err.println("[오프라인 알림] 관리자가 초기화되지 않았습니다.");
+            return null;
+        }
+        return offlineManager.saveNotifications(offline);
+    }
+    
+    /**
+     * 다른 노드에 접속 중인 사용자면 그 노드로 알림 전달
+     * @return 전달했으면 true (접속 노드가 없거나 전송에 실패하면 false)
+     */
+    private boolean routeRemote(ReservationNotification notification) {
+        NotificationBus bus = notificationBus;
+        if (bus == null) {
+            return false;
+        }
+        String owner = bus.ownerOf(notification.getUserId());
+        if (owner == null || owner.equals(bus.getNodeId())) {
+            return false;
+        }
+        if (!bus.route(owner, notification)) {
+            return false;
+        }
+        remoteRoutedCount.increment();
+        return true;
+    }
+    
+    /**
+     * 다른 노드에서 넘어온 알림을 이 노드의 연결로 전송 (관찰자 알림은 보낸 노드에서 이미 처리됨)
+     * 그 사이 사용자가 접속을 끊었다면 오프라인 저장
+     */
+    private void deliverRemote(ReservationNotification notification) {
+        List<ClientConnection> writers = clientWriters.get(notification.getUserId());
+        if (writers != null && !writers.isEmpty()) {
+            ClientConnection.Outbound message = outboundFor(notification, NotificationFrame.of(notification));
+            if (enqueue(writers, message)) {
+                return;
+            }
+            discardSequence(message);
+            spillToOffline(notification);
+            return;
+        }
+        if (offlineManager != null) {
+            offlineManager.saveNotification(notification.getUserId(), notification);
+        } else {
+            System.err.println("[오프라인 알림] 관리자가 초기화되지 않았습니다.");
+        }
+    }
+    
+    private void publishOffline(String userId) {
+        NotificationBus bus = notificationBus;
+        if (bus != null) {
+            bus.publishPresence(userId, false);
+        }
+    }
+    
+    /**
+     * 자동 전송하지 못한 오프라인 알림을 다시 저장 (송신 스레드에서 호출)
+     */
+    void restoreOffline(List<ReservationNotification> backlog) {
+        saveOffline(backlog);
+    }
+    
+    /**
+     * 사용자의 모든 연결 송신 대기열에 알림 추가
+     * 어느 연결의 대기열에도 넣지 못하면 오프라인 저장으로 넘김 (notifyUsers는 직접 모아서 저장)
+     * @return 하나 이상의 연결 대기열에 들어갔으면 true
+     */
+    private boolean enqueue(List<ClientConnection> writers, ClientConnection.Outbound message) {
+        OverflowPolicy policy = overflowPolicy;
+        long timeout = blockTimeoutMillis;
+        boolean accepted = false;
+        
+        for (ClientConnection connection : writers) {
+            if (connection.offer(message, policy, timeout)) {
+                accepted = true;
+            } else {
+                System.err.println("[Observer] 송신 대기열 초과: " + connection.getUserId()
+                    + " (대기 " + connection.getQueueDepth() + "건)");
+            }
+        }
+        return accepted;
+    }
+    
+    /**
+     * 대기열 초과로 전송하지 못한 알림을 오프라인 저장소로 넘김
+     */
+    private void spillToOffline(ReservationNotification notification) {
+        spilledCount.increment();
+        if (offlineManager != null) {
+            offlineManager.saveNotification(notification.getUserId(), notification);
+            System.out.println("[오프라인 알림] " + notification.getUserId() + "의 대기열 초과 알림 저장 완료");
+        } else {
+            System.err.println("[오프라인 알림] 관리자가 초기화되지 않았습니다.");
+        }
     }
     
     /**
      * 등록된 모든 클라이언트 제거 (테스트용)
      */
-    public synchronized void clearAll() {
-        clientWriters.clear();
+    public void clearAll() {
+        for (String userId : new ArrayList<>(clientWriters.keySet())) {
+            List<ClientConnection> writers = clientWriters.remove(userId);
+            if (writers != null) {
+                writers.forEach(ClientConnection::close);
+            }
+        }
+        deliveryWindows.clear();
         System.out.println("[Observer] 모든 클라이언트 제거 완료");
     }
     
@@ -132,7 +1014,68 @@ public class ReservationSubject {
      * 특정 사용자의 클라이언트 개수 반환
      */
     public int getClientCount(String userId) {
-        List<PrintWriter> writers = clientWriters.get(userId);
+        List<ClientConnection> writers = clientWriters.get(userId);
         return writers != null ? writers.size() : 0;
     }
+    
+    /**
+     * 사용자별 송신 대기 중인 알림 수 스냅샷
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new HashMap<>();
+        for (String userId : clientWriters.keySet()) {
+            depths.put(userId, getQueueDepth(userId));
+        }
+        return depths;
+    }
+    
+    /**
+     * DROP_OLDEST 정책으로 버려진 알림 수
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+    
+    /**
+     * 관찰자 우편함이 가득 차 전달하지 못한 알림 수
+     */
+    public long getObserverDroppedCount() {
+        return observerDispatcher.getDroppedCount();
+    }
+    
+    /**
+     * 끊어진 연결로 판단되어 제거된 클라이언트 수
+     */
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+    
+    /**
+     * 다른 노드로 전달한 알림 수
+     */
+    public long getRemoteRoutedCount() {
+        return remoteRoutedCount.sum();
+    }
+    
+    /**
+     * 대기열 초과로 오프라인 저장소에 넘긴 알림 수
+     */
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+    
+    /**
+     * 특정 사용자의 송신 대기 중인 알림 수 (모든 연결 합계)
+     */
+    public int getQueueDepth(String userId) {
+        List<ClientConnection> writers = clientWriters.get(userId);
+        if (writers == null) {
+            return 0;
+        }
+        int depth = 0;
+        for (ClientConnection connection : writers) {
+            depth += connection.getQueueDepth();
+        }
+        return depth;
+    }
 }
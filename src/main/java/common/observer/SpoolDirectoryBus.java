@@ -0,0 +1,378 @@
+package common.observer;
+
+import common.utils.ProtocolCodec;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공유 디렉토리 기반 NotificationBus (테스트 및 단일 호스트 다중 노드용)
+ * 디렉토리 구조:
+ *   presence/사용자ID      - 세션을 가진 노드 ID (마지막 로그인 노드가 덮어씀)
+ *   nodes/노드ID           - 노드 생존 신호 (폴링마다 현재 시각을 기록, 정상 종료 시 0)
+ *   inbox/노드ID/*.msg     - 해당 노드로 보낸 알림 (파일 하나에 알림 하나)
+ * 알림 파일은 임시 파일로 쓴 뒤 이름을 바꿔 넣으므로 수신 노드는 완성된 파일만 읽음
+ *
+ * 생존 신호가 nodeTimeoutMillis보다 오래된 노드는 죽은 것으로 보고,
+ * 그 노드의 사용자는 접속 노드가 없는 것으로 취급해(ownerOf == null) 호출자가 오프라인 저장하게 함
+ * 죽은 노드의 수신함에 남은 알림은 살아 있는 노드가 자기 수신함으로 옮겨 처리함
+ */
+public class SpoolDirectoryBus implements NotificationBus {
+
+    private final String nodeId;
+    private final Path presenceDir;
+    private final Path nodesDir;
+    private final Path inboxRoot;
+    private final Path inbox;
+    private final long pollIntervalMillis;
+    private final long nodeTimeoutMillis;
+    private final AtomicLong messageSequence = new AtomicLong();
+    
+    // 사용자 ID -> 노드 ID (주기적으로 presence 디렉토리에서 다시 읽음)
+    private final Map<String, String> presence = new ConcurrentHashMap<>();
+    // 노드 ID -> 마지막 생존 신호 시각 (주기적으로 nodes 디렉토리에서 다시 읽음)
+    private final Map<String, Long> heartbeats = new ConcurrentHashMap<>();
+    private ScheduledExecutorService poller;
+    private volatile Listener listener;
+
+    /**
+     * @param directory 모든 노드가 공유하는 스풀 디렉토리
+     * @param nodeId 이 노드의 ID (노드마다 달라야 함)
+     * @param pollIntervalMillis 수신함/접속 현황 확인 주기
+     */
+    public SpoolDirectoryBus(String directory, String nodeId, long pollIntervalMillis) {
+        this(directory, nodeId, pollIntervalMillis, Math.max(pollIntervalMillis * 10, 5000));
+    }
+
+    /**
+     * @param nodeTimeoutMillis 생존 신호가 이보다 오래되면 그 노드를 죽은 것으로 봄 (폴링 주기보다 충분히 길어야 함)
+     */
+    public SpoolDirectoryBus(String directory, String nodeId, long pollIntervalMillis, long nodeTimeoutMillis) {
+        if (directory == null || directory.trim().isEmpty()) {
+            throw new IllegalArgumentException("directory는 null이거나 공백일 수 없습니다.");
+        }
+        if (nodeId == null || nodeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("nodeId는 null이거나 공백일 수 없습니다.");
+        }
+        if (pollIntervalMillis <= 0) {
+            throw new IllegalArgumentException("pollIntervalMillis는 0보다 커야 합니다.");
+        }
+        if (nodeTimeoutMillis <= pollIntervalMillis) {
+            throw new IllegalArgumentException("nodeTimeoutMillis는 pollIntervalMillis보다 커야 합니다.");
+        }
+        this.nodeId = nodeId;
+        this.presenceDir = Paths.get(directory, "presence");
+        this.nodesDir = Paths.get(directory, "nodes");
+        this.inboxRoot = Paths.get(directory, "inbox");
+        this.inbox = inboxRoot.resolve(encode(nodeId));
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.nodeTimeoutMillis = nodeTimeoutMillis;
+        try {
+            Files.createDirectories(presenceDir);
+            Files.createDirectories(nodesDir);
+            Files.createDirectories(inbox);
+        } catch (IOException e) {
+            throw new IllegalStateException("스풀 디렉토리 생성 실패: " + directory, e);
+        }
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public synchronized void start(Listener listener) {
+        this.listener = listener;
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notify-bus-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        System.out.println("[NotificationBus] 노드 " + nodeId + " 수신 시작");
+    }
+
+    @Override
+    public void publishPresence(String userId, boolean online) {
+        Path file = presenceDir.resolve(encode(userId));
+        try {
+            if (online) {
+                writeAtomically(file, nodeId);
+                presence.put(userId, nodeId);
+            } else if (removeOwnPresence(file)) {
+                presence.remove(userId, nodeId);
+            }
+        } catch (IOException e) {
+            System.err.println("[NotificationBus] 접속 상태 기록 실패: " + userId + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 접속 기록이 이 노드를 가리킬 때만 삭제
+     * 읽고 나서 지우면 그 사이 다른 노드가 다시 로그인해 쓴 기록을 지울 수 있으므로,
+     * 먼저 이 노드만 쓰는 임시 이름으로 원자적으로 옮긴 뒤 옮겨 온 내용을 확인함
+     * 다른 노드의 기록이었으면 되돌려 놓고, 그 사이 더 새 기록이 생겼으면 옮겨 온 것은 버림
+     * (되돌리기 전 잠깐 동안은 다른 노드도 접속 기록이 없는 것으로 보일 수 있음)
+     * @return 이 노드의 기록을 지웠으면 true
+     */
+    private boolean removeOwnPresence(Path file) throws IOException {
+        if (!nodeId.equals(readOwner(file))) {
+            // 다른 노드에서 다시 로그인한 경우 그 노드의 기록은 건드리지 않음
+            return false;
+        }
+        Path tombstone = file.resolveSibling(file.getFileName() + "." + encode(nodeId) + "-"
+            + messageSequence.incrementAndGet() + ".del.tmp");
+        try {
+            Files.move(file, tombstone, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        try {
+            if (nodeId.equals(readOwner(tombstone))) {
+                return true;
+            }
+            try {
+                // 이름 바꾸기는 있는 파일을 덮어쓰므로, 대상이 있으면 실패하는 하드 링크로 되돌림
+                Files.createLink(file, tombstone);
+            } catch (FileAlreadyExistsException e) {
+                // 옮기는 사이 더 새 로그인 기록이 생김
+            }
+            return false;
+        } finally {
+            Files.deleteIfExists(tombstone);
+        }
+    }
+
+    /**
+     * 사용자의 세션을 가진 살아 있는 노드 (그 노드의 생존 신호가 끊겼으면 null)
+     */
+    @Override
+    public String ownerOf(String userId) {
+        String owner = presence.get(userId);
+        if (owner == null || owner.equals(nodeId) || isAlive(owner)) {
+            return owner;
+        }
+        return null;
+    }
+
+    /**
+     * 노드의 생존 신호가 nodeTimeoutMillis 안에 있었는지
+     */
+    public boolean isAlive(String node) {
+        Long beat = heartbeats.get(node);
+        return beat != null && System.currentTimeMillis() - beat <= nodeTimeoutMillis;
+    }
+
+    @Override
+    public boolean route(String targetNodeId, ReservationNotification notification) {
+        Path targetInbox = inboxRoot.resolve(encode(targetNodeId));
+        // 이름 순 = 보낸 순서 (같은 노드에서 보낸 알림끼리)
+        String name = String.format("%013d-%s-%010d.msg",
+            System.currentTimeMillis(), encode(nodeId), messageSequence.incrementAndGet());
+        try {
+            Files.createDirectories(targetInbox);
+            writeAtomically(targetInbox.resolve(name), formatMessage(notification));
+            return true;
+        } catch (IOException e) {
+            System.err.println("[NotificationBus] 노드 " + targetNodeId + "로 전송 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 수신을 멈추고 생존 신호를 0으로 기록 (다른 노드가 바로 죽은 노드로 보고 남은 알림을 가져감)
+     */
+    @Override
+    public synchronized void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+            try {
+                writeAtomically(nodesDir.resolve(encode(nodeId)), "0");
+            } catch (IOException e) {
+                System.err.println("[NotificationBus] 종료 신호 기록 실패: " + e.getMessage());
+            }
+        }
+        listener = null;
+    }
+
+    /**
+     * 주기 작업: 생존 신호를 남기고, 접속 현황을 다시 읽고, 죽은 노드의 알림을 가져온 뒤 수신함을 비움
+     */
+    private void poll() {
+        try {
+            writeAtomically(nodesDir.resolve(encode(nodeId)), Long.toString(System.currentTimeMillis()));
+            refreshHeartbeats();
+            refreshPresence();
+            reclaimDeadInboxes();
+            drainInbox();
+        } catch (Exception e) {
+            System.err.println("[NotificationBus] 수신 처리 실패: " + e.getMessage());
+        }
+    }
+
+    private void refreshHeartbeats() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(nodesDir)) {
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    continue;
+                }
+                String beat = readOwner(file);
+                try {
+                    if (beat != null) {
+                        heartbeats.put(decode(file.getFileName().toString()), Long.parseLong(beat));
+                    }
+                } catch (NumberFormatException e) {
+                    // 쓰다 만 파일이 아니면 무시 (임시 파일 이름 바꾸기로 쓰므로 보통 발생하지 않음)
+                }
+            }
+        }
+    }
+
+    /**
+     * 생존 신호가 끊긴 노드의 수신함 알림을 이 노드 수신함으로 옮김
+     * 이름 바꾸기는 원자적이라 여러 노드가 동시에 시도해도 알림 하나는 한 노드만 가져감
+     * (이 노드에 사용자가 없으면 수신 처리기가 오프라인 저장함)
+     */
+    private void reclaimDeadInboxes() throws IOException {
+        for (Map.Entry<String, Long> entry : heartbeats.entrySet()) {
+            String node = entry.getKey();
+            if (node.equals(nodeId) || isAlive(node)) {
+                continue;
+            }
+            Path deadInbox = inboxRoot.resolve(encode(node));
+            if (!Files.isDirectory(deadInbox)) {
+                continue;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(deadInbox, "*.msg")) {
+                for (Path file : files) {
+                    try {
+                        Files.move(file, inbox.resolve(file.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+                    } catch (NoSuchFileException e) {
+                        // 다른 노드가 먼저 가져감
+                    }
+                }
+            }
+        }
+    }
+
+    private void refreshPresence() throws IOException {
+        Map<String, String> latest = new ConcurrentHashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(presenceDir)) {
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    continue;
+                }
+                String owner = readOwner(file);
+                if (owner != null) {
+                    latest.put(decode(file.getFileName().toString()), owner);
+                }
+            }
+        }
+        presence.keySet().retainAll(latest.keySet());
+        presence.putAll(latest);
+    }
+
+    private void drainInbox() throws IOException {
+        List<Path> messages = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox, "*.msg")) {
+            files.forEach(messages::add);
+        }
+        Collections.sort(messages);
+        for (Path file : messages) {
+            String text;
+            try {
+                text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                Files.delete(file);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            ReservationNotification notification = parseMessage(text.trim());
+            Listener current = listener;
+            if (notification != null && current != null) {
+                current.onRemoteNotification(notification);
+            }
+        }
+    }
+
+    private String readOwner(Path file) throws IOException {
+        try {
+            String owner = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+            return owner.isEmpty() ? null : owner;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 같은 디렉토리의 고유한 임시 파일에 쓴 뒤 이름을 바꿔, 읽는 쪽이 쓰다 만 파일을 보지 않도록 함
+     */
+    private void writeAtomically(Path file, String text) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString() + ".", ".tmp");
+        try {
+            Files.write(temp, text.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 알림 한 개를 한 줄로 직렬화 (필드는 ProtocolCodec 이스케이프)
+     * 형식: 사용자ID,타입,메시지,강의실,날짜,요일,시간
+     */
+    private String formatMessage(ReservationNotification notification) {
+        StringBuilder sb = new StringBuilder(96);
+        ProtocolCodec.appendEscaped(sb, notification.getUserId());
+        ProtocolCodec.appendField(sb, notification.getType().name());
+        ProtocolCodec.appendField(sb, notification.getMessage());
+        ProtocolCodec.appendField(sb, notification.getRoom());
+        ProtocolCodec.appendField(sb, notification.getDate());
+        ProtocolCodec.appendField(sb, notification.getDay());
+        ProtocolCodec.appendField(sb, notification.getTime());
+        return sb.toString();
+    }
+
+    private ReservationNotification parseMessage(String line) {
+        try {
+            ProtocolCodec.Tokenizer tokens = ProtocolCodec.tokenize(line);
+            String userId = tokens.next();
+            ReservationNotification.NotificationType type = ReservationNotification.NotificationType.valueOf(tokens.next());
+            String message = tokens.next();
+            return new ReservationNotification(userId, "", tokens.next(), tokens.next(), tokens.next(), tokens.next(),
+                type, message);
+        } catch (Exception e) {
+            System.err.println("[NotificationBus] 알림 파싱 실패: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
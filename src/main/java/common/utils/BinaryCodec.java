@@ -0,0 +1,219 @@
+package common.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 길이 접두 이진 프레임 (텍스트 프로토콜과 함께 쓰는 선택적 형식)
+ * 프레임: [버전 1바이트][타입 태그 1바이트][페이로드 길이 varint][페이로드]
+ * 페이로드 필드: 문자열은 varint 바이트 길이 + UTF-8, 정수는 zigzag varint
+ * 프레임 스스로 길이를 알기 때문에 줄바꿈이나 이스케이프가 필요 없음
+ */
+public final class BinaryCodec {
+
+    public static final byte VERSION = 1;
+
+    // 타입 태그
+    public static final byte TYPE_RESERVE_REQUEST = 1;
+    public static final byte TYPE_CLASSROOM = 2;
+    public static final byte TYPE_NOTIFICATION = 3;
+
+    // 잘못된 길이로 큰 버퍼를 잡지 않도록 제한
+    public static final int MAX_PAYLOAD_LENGTH = 1 << 20;
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * 읽어 낸 프레임 (페이로드는 원본 버퍼를 복사 없이 공유하는 뷰, 수정 금지)
+     */
+    public static final class Frame {
+        private final byte type;
+        private final ByteBuffer payload;
+
+        Frame(byte type, ByteBuffer payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        public byte getType() { return type; }
+        public ByteBuffer getPayload() { return payload; }
+    }
+
+    /**
+     * 프레임 헤더 기록
+     */
+    public static void writeHeader(ByteBuffer out, byte type, int payloadLength) {
+        out.put(VERSION);
+        out.put(type);
+        putVarInt(out, payloadLength);
+    }
+
+    /**
+     * 헤더까지 포함한 프레임 전체 크기
+     */
+    public static int frameSize(int payloadLength) {
+        return 2 + varIntSize(payloadLength) + payloadLength;
+    }
+
+    /**
+     * 버퍼에서 프레임 하나를 읽음
+     * @return 프레임이 아직 다 도착하지 않았으면 null (position은 그대로)
+     * @throws IllegalArgumentException 지원하지 않는 버전이거나 길이가 잘못된 경우
+     */
+    public static Frame readFrame(ByteBuffer in) {
+        int start = in.position();
+        if (in.remaining() < 3) {
+            return null;
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            in.position(start);
+            throw new IllegalArgumentException("지원하지 않는 프레임 버전: " + version);
+        }
+        byte type = in.get();
+        int length = 0;
+        int shift = 0;
+        while (true) {
+            if (!in.hasRemaining()) {
+                in.position(start);
+                return null;
+            }
+            byte b = in.get();
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+            shift += 7;
+            if (shift > 28) {
+                in.position(start);
+                throw new IllegalArgumentException("잘못된 길이 필드");
+            }
+        }
+        if (length < 0 || length > MAX_PAYLOAD_LENGTH) {
+            in.position(start);
+            throw new IllegalArgumentException("프레임 길이 초과: " + length);
+        }
+        if (in.remaining() < length) {
+            in.position(start);
+            return null;
+        }
+        ByteBuffer payload = in.slice();
+        payload.limit(length);
+        in.position(in.position() + length);
+        return new Frame(type, payload);
+    }
+
+    // ===== 필드 인코딩 =====
+
+    public static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 varint");
+    }
+
+    public static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    public static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 varint");
+    }
+
+    public static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    /**
+     * 부호 있는 정수 (zigzag: 작은 음수도 짧게)
+     */
+    public static void putInt(ByteBuffer out, int value) {
+        putVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    public static int getInt(ByteBuffer in) {
+        int raw = getVarInt(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public static int intSize(int value) {
+        return varIntSize((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * 문자열 (null은 빈 문자열로 기록)
+     */
+    public static void putString(ByteBuffer out, CharSequence value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        putVarInt(out, ProtocolCodec.utf8Length(value));
+        ProtocolCodec.writeUtf8(value, out);
+    }
+
+    public static String getString(ByteBuffer in) {
+        int length = getVarInt(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("문자열 길이가 프레임을 벗어남: " + length);
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.duplicate().get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+
+    public static int stringSize(CharSequence value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = ProtocolCodec.utf8Length(value);
+        return varIntSize(length) + length;
+    }
+}
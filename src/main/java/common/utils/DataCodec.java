@@ -0,0 +1,68 @@
+package common.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DataOutput/DataInput 기반 직접 직렬화 도우미 (리플렉션 없는 Java 직렬화 대체)
+ * 각 DTO/모델의 writeTo/readFrom과 함께 사용하며, 목록은 개수 다음에 항목을 이어서 기록함
+ */
+public final class DataCodec {
+
+    // 잘못된 입력으로 큰 목록을 잡지 않도록 제한
+    public static final int MAX_LIST_SIZE = 1 << 20;
+
+    private DataCodec() {
+    }
+
+    @FunctionalInterface
+    public interface Encoder<T> {
+        void write(DataOutput out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Decoder<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    /**
+     * 목록 기록: 개수(int) 다음 항목들
+     */
+    public static <T> void writeList(DataOutput out, Collection<? extends T> values, Encoder<T> encoder)
+            throws IOException {
+        out.writeInt(values.size());
+        for (T value : values) {
+            encoder.write(out, value);
+        }
+    }
+
+    public static <T> List<T> readList(DataInput in, Decoder<T> decoder) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > MAX_LIST_SIZE) {
+            throw new IOException("잘못된 목록 크기: " + size);
+        }
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(decoder.read(in));
+        }
+        return values;
+    }
+
+    /**
+     * null을 허용하는 문자열 기록 (존재 여부 1바이트 + writeUTF)
+     */
+    public static void writeNullableUTF(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
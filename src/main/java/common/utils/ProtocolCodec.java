@@ -0,0 +1,343 @@
+package common.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 쉼표로 구분된 텍스트 프로토콜 프레임 인코딩/디코딩 (RESERVE_REQUEST, 강의실 목록 등)
+ * 필드 안의 특수 문자는 역슬래시로 이스케이프함: \, (쉼표)  \\ (역슬래시)  \n (줄바꿈)  \r
+ * 특수 문자가 없는 필드는 기존 형식과 똑같이 인코딩되므로 이전 클라이언트와 호환됨
+ * 디코딩은 정규식이나 split 배열 없이 한 번의 순회로 필드를 차례로 꺼냄
+ */
+public final class ProtocolCodec {
+
+    public static final char SEPARATOR = ',';
+    private static final char ESCAPE = '\\';
+
+    private ProtocolCodec() {
+    }
+
+    /**
+     * 필드 앞에 구분자를 붙여 이스케이프해서 추가 (첫 필드에는 구분자를 붙이지 않음)
+     * @return 체이닝용 sb
+     */
+    public static StringBuilder appendField(StringBuilder sb, CharSequence value) {
+        if (sb.length() > 0) {
+            sb.append(SEPARATOR);
+        }
+        return appendEscaped(sb, value);
+    }
+
+    public static StringBuilder appendField(StringBuilder sb, int value) {
+        if (sb.length() > 0) {
+            sb.append(SEPARATOR);
+        }
+        return sb.append(value);
+    }
+
+    /**
+     * 구분자 없이 값만 이스케이프해서 추가 (null은 빈 필드)
+     */
+    public static StringBuilder appendEscaped(StringBuilder sb, CharSequence value) {
+        if (value == null) {
+            return sb;
+        }
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case SEPARATOR: sb.append(ESCAPE).append(SEPARATOR); break;
+                case ESCAPE: sb.append(ESCAPE).append(ESCAPE); break;
+                case '\n': sb.append(ESCAPE).append('n'); break;
+                case '\r': sb.append(ESCAPE).append('r'); break;
+                default: sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    /**
+     * 이스케이프한 필드 하나
+     */
+    public static String escape(CharSequence value) {
+        return appendEscaped(new StringBuilder(value == null ? 0 : value.length() + 8), value).toString();
+    }
+
+    /**
+     * 프레임 한 줄을 UTF-8로 줄바꿈과 함께 버퍼에 기록 (중간 byte[]나 String 없이 직접 인코딩)
+     * @return 기록한 바이트 수
+     * @throws java.nio.BufferOverflowException 버퍼에 자리가 부족한 경우
+     */
+    public static int writeLine(CharSequence line, ByteBuffer out) {
+        int written = writeUtf8(line, out);
+        out.put((byte) '\n');
+        return written + 1;
+    }
+
+    /**
+     * 문자열을 UTF-8로 버퍼에 직접 기록 (짝이 맞지 않는 서로게이트는 '?')
+     * @return 기록한 바이트 수
+     */
+    public static int writeUtf8(CharSequence text, ByteBuffer out) {
+        int start = out.position();
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                out.put((byte) (0xF0 | (cp >> 18)));
+                out.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return out.position() - start;
+    }
+
+    /**
+     * writeUtf8이 기록할 바이트 수 (버퍼 크기를 미리 정할 때 사용)
+     */
+    public static int utf8Length(CharSequence text) {
+        int length = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 버퍼에서 UTF-8 한 줄을 읽어 재사용 StringBuilder에 담음 (줄바꿈 제외, 끝의 \r 제거)
+     * @param in 읽을 버퍼 (완성된 줄을 읽으면 줄바꿈 다음으로 position 이동)
+     * @param line 결과를 담을 StringBuilder (내용을 지우고 다시 씀)
+     * @return 완성된 줄이 없으면 null (position은 그대로)
+     */
+    public static CharSequence readLine(ByteBuffer in, StringBuilder line) {
+        int start = in.position();
+        line.setLength(0);
+        while (in.hasRemaining()) {
+            int b = in.get() & 0xFF;
+            if (b == '\n') {
+                int last = line.length() - 1;
+                if (last >= 0 && line.charAt(last) == '\r') {
+                    line.setLength(last);
+                }
+                return line;
+            }
+            if (b < 0x80) {
+                line.append((char) b);
+                continue;
+            }
+            int extra = b >= 0xF0 ? 3 : b >= 0xE0 ? 2 : b >= 0xC0 ? 1 : 0;
+            if (extra == 0) {
+                line.append('\uFFFD');
+                continue;
+            }
+            if (in.remaining() < extra) {
+                break;
+            }
+            int cp = b & (0x3F >> extra);
+            for (int k = 0; k < extra; k++) {
+                cp = (cp << 6) | (in.get() & 0x3F);
+            }
+            line.appendCodePoint(cp);
+        }
+        in.position(start);
+        line.setLength(0);
+        return null;
+    }
+
+    /**
+     * 프레임의 필드를 앞에서부터 꺼내는 토크나이저
+     */
+    public static Tokenizer tokenize(CharSequence frame) {
+        return new Tokenizer().reset(frame);
+    }
+
+    /**
+     * 한 번의 순회로 필드를 꺼내는 커서 (reset으로 재사용 가능, 스레드 안전하지 않음)
+     * 이스케이프가 없는 필드는 원본의 부분 문자열로, 있는 필드만 내부 버퍼로 복원함
+     */
+    public static final class Tokenizer {
+        private CharSequence input;
+        private int position;
+        private boolean exhausted;
+        private final StringBuilder scratch = new StringBuilder(32);
+
+        public Tokenizer reset(CharSequence frame) {
+            this.input = frame;
+            this.position = 0;
+            this.exhausted = frame == null;
+            return this;
+        }
+
+        /**
+         * 남은 필드가 있는지 여부 (빈 문자열도 필드 하나로 봄)
+         */
+        public boolean hasNext() {
+            return !exhausted;
+        }
+
+        /**
+         * 다음 필드 (이스케이프 해제)
+         * @throws IllegalArgumentException 남은 필드가 없는 경우
+         */
+        public String next() {
+            return next(false);
+        }
+
+        /**
+         * 다음 필드의 앞뒤 공백을 제거해서 반환
+         */
+        public String nextTrimmed() {
+            return next(true);
+        }
+
+        /**
+         * 다음 필드를 정수로 (부분 문자열을 만들지 않고 바로 계산, 앞뒤 공백 허용)
+         * @throws NumberFormatException 정수가 아닌 경우
+         */
+        public int nextInt() {
+            requireNext();
+            int end = fieldEnd();
+            int i = position;
+            while (i < end && input.charAt(i) == ' ') i++;
+            int last = end;
+            while (last > i && input.charAt(last - 1) == ' ') last--;
+            boolean negative = i < last && input.charAt(i) == '-';
+            if (negative || (i < last && input.charAt(i) == '+')) i++;
+            if (i >= last) {
+                throw new NumberFormatException("정수 필드가 비어 있습니다: " + input);
+            }
+            long value = 0;
+            for (; i < last; i++) {
+                int digit = input.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("정수가 아닌 필드: " + input.subSequence(position, end));
+                }
+                value = value * 10 + digit;
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    throw new NumberFormatException("정수 범위를 벗어난 필드: " + input.subSequence(position, end));
+                }
+            }
+            if (!negative && value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("정수 범위를 벗어난 필드: " + input.subSequence(position, end));
+            }
+            advance(end);
+            return (int) (negative ? -value : value);
+        }
+
+        /**
+         * 다음 필드를 건너뜀
+         */
+        public void skip() {
+            requireNext();
+            advance(fieldEnd());
+        }
+
+        private String next(boolean trim) {
+            requireNext();
+            int fieldEnd = fieldEnd();
+            int start = position;
+            int end = fieldEnd;
+            String value;
+            if (!containsEscape(start, end)) {
+                if (trim) {
+                    while (start < end && Character.isWhitespace(input.charAt(start))) start++;
+                    while (end > start && Character.isWhitespace(input.charAt(end - 1))) end--;
+                }
+                value = input.subSequence(start, end).toString();
+            } else {
+                value = unescape(start, end, trim);
+            }
+            advance(fieldEnd);
+            return value;
+        }
+
+        private void requireNext() {
+            if (exhausted) {
+                throw new IllegalArgumentException("필드가 부족합니다: " + input);
+            }
+        }
+
+        /**
+         * 현재 위치부터 이스케이프되지 않은 다음 구분자(또는 끝)의 위치
+         */
+        private int fieldEnd() {
+            int n = input.length();
+            int i = position;
+            while (i < n) {
+                char c = input.charAt(i);
+                if (c == ESCAPE) {
+                    i += 2;
+                } else if (c == SEPARATOR) {
+                    return i;
+                } else {
+                    i++;
+                }
+            }
+            return n;
+        }
+
+        private void advance(int end) {
+            if (end >= input.length()) {
+                position = input.length();
+                exhausted = true;
+            } else {
+                position = end + 1;
+            }
+        }
+
+        private boolean containsEscape(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (input.charAt(i) == ESCAPE) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private String unescape(int start, int end, boolean trim) {
+            scratch.setLength(0);
+            int keep = 0;   // 끝 공백 제거 시 보존해야 하는 길이 (이스케이프로 만든 문자는 공백이라도 유지)
+            for (int i = start; i < end; i++) {
+                char c = input.charAt(i);
+                if (c == ESCAPE && i + 1 < end) {
+                    char e = input.charAt(++i);
+                    scratch.append(e == 'n' ? '\n' : e == 'r' ? '\r' : e);
+                    keep = scratch.length();
+                } else if (trim && scratch.length() == 0 && Character.isWhitespace(c)) {
+                    continue;
+                } else {
+                    scratch.append(c);
+                    if (!Character.isWhitespace(c)) {
+                        keep = scratch.length();
+                    }
+                }
+            }
+            if (trim) {
+                scratch.setLength(keep);
+            }
+            return scratch.toString();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package common.utils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 예약 시간 문자열("2025-11-28", "수", "3교시")을 정수 표현으로 바꾸는 도우미
+ * 날짜는 epoch-day, 요일은 0(월)~6(일), 교시는 1부터 시작하는 번호,
+ * 교시 범위는 (교시-1)번째 비트를 켠 비트마스크로 나타냄
+ */
+public final class ScheduleTime {
+
+    public static final int MAX_PERIOD = 32;
+
+    private static final String DAY_NAMES = "월화수목금토일";
+
+    private ScheduleTime() {
+    }
+
+    /**
+     * "yyyy-MM-dd" 날짜를 epoch-day로 변환
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static int toEpochDay(String date) {
+        try {
+            return (int) LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다 (yyyy-MM-dd): " + date);
+        }
+    }
+
+    /**
+     * epoch-day의 요일 번호 (0=월 ... 6=일)
+     */
+    public static int dayOfWeekOf(int epochDay) {
+        return Math.floorMod(epochDay + 3, 7);   // 1970-01-01은 목요일
+    }
+
+    /**
+     * "월" 또는 "월요일" 형식의 요일 번호 (토큰 전체가 일치해야 함)
+     * @return 0(월)~6(일), 알 수 없으면 -1
+     */
+    public static int parseDayOfWeek(String day) {
+        if (day == null || (day.length() != 1 && !(day.length() == 3 && day.endsWith("요일")))) {
+            return -1;
+        }
+        return DAY_NAMES.indexOf(day.charAt(0));
+    }
+
+    public static String dayOfWeekName(int index) {
+        return String.valueOf(DAY_NAMES.charAt(index));
+    }
+
+    /**
+     * "3교시", "3", 또는 시각이 붙은 기존 형식 "3교시(11:00~12:00)"의 교시 번호
+     * (괄호 안의 시각은 표시용이라 해석하지 않음)
+     * @throws IllegalArgumentException 형식이 잘못되었거나 1~MAX_PERIOD 범위를 벗어난 경우
+     */
+    public static int parsePeriod(String time) {
+        int period = findPeriod(time);
+        if (period < 0) {
+            throw new IllegalArgumentException("교시 형식이 올바르지 않습니다 (1~" + MAX_PERIOD + "교시): " + time);
+        }
+        return period;
+    }
+
+    /**
+     * parsePeriod와 같지만 해석할 수 없으면 예외 대신 -1
+     */
+    public static int findPeriod(String time) {
+        if (time == null) {
+            return -1;
+        }
+        int end = time.length();
+        if (end > 0 && time.charAt(end - 1) == ')') {
+            int open = time.indexOf('(');
+            if (open < 0) {
+                return -1;
+            }
+            end = open;
+        }
+        if (time.startsWith("교시", end - 2)) {
+            end -= 2;
+        }
+        int i = 0;
+        while (i < end && time.charAt(i) == ' ') i++;
+        int period = 0;
+        int digits = 0;
+        for (; i < end; i++, digits++) {
+            char c = time.charAt(i);
+            if (c < '0' || c > '9' || digits >= 3) {
+                return -1;
+            }
+            period = period * 10 + (c - '0');
+        }
+        return digits == 0 || period < 1 || period > MAX_PERIOD ? -1 : period;
+    }
+
+    public static String periodName(int period) {
+        return period + "교시";
+    }
+
+    /**
+     * start~end 교시(포함)를 켠 비트마스크
+     */
+    public static int periodMask(int startPeriod, int endPeriod) {
+        int width = endPeriod - startPeriod + 1;
+        int bits = width >= 32 ? -1 : (1 << width) - 1;
+        return bits << (startPeriod - 1);
+    }
+}
@@ -0,0 +1,79 @@
+package common.utils;
+
+/**
+ * 연결별 전송 형식과 협상
+ * 접속 직후 클라이언트가 HELLO,지원형식... 을 보내면 서버가 HELLO_ACK,선택형식 으로 답함
+ * HELLO를 보내지 않는 이전 클라이언트는 계속 텍스트 형식을 사용함
+ * 예: 클라이언트 "HELLO,TEXT,BINARY/1" -> 서버 "HELLO_ACK,BINARY/1"
+ */
+public enum WireFormat {
+    TEXT("TEXT"),                                   // 쉼표 구분 텍스트 줄
+    BINARY("BINARY/" + BinaryCodec.VERSION);        // BinaryCodec 길이 접두 프레임
+
+    public static final String HELLO = "HELLO";
+    public static final String HELLO_ACK = "HELLO_ACK";
+
+    private final String token;
+
+    WireFormat(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * 클라이언트가 보낼 HELLO 줄 (지원하는 모든 형식)
+     */
+    public static String clientHello() {
+        StringBuilder sb = new StringBuilder(HELLO);
+        for (WireFormat format : values()) {
+            ProtocolCodec.appendField(sb, format.token);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 서버 쪽 협상: 클라이언트 HELLO에서 서버도 지원하는 가장 효율적인 형식 선택
+     * @param hello 클라이언트가 보낸 첫 줄 (HELLO가 아니면 TEXT)
+     */
+    public static WireFormat negotiate(CharSequence hello) {
+        if (hello == null) {
+            return TEXT;
+        }
+        ProtocolCodec.Tokenizer tokens = ProtocolCodec.tokenize(hello);
+        if (!HELLO.equals(tokens.next())) {
+            return TEXT;
+        }
+        WireFormat chosen = TEXT;
+        while (tokens.hasNext()) {
+            if (BINARY.token.equals(tokens.nextTrimmed())) {
+                chosen = BINARY;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * 서버가 답할 HELLO_ACK 줄 (협상 결과는 항상 텍스트 줄로 보냄)
+     */
+    public String ackLine() {
+        return HELLO_ACK + ProtocolCodec.SEPARATOR + token;
+    }
+
+    /**
+     * 클라이언트 쪽: 서버의 HELLO_ACK 줄에서 선택된 형식 확인 (알 수 없으면 TEXT)
+     */
+    public static WireFormat fromAck(CharSequence ack) {
+        if (ack == null) {
+            return TEXT;
+        }
+        ProtocolCodec.Tokenizer tokens = ProtocolCodec.tokenize(ack);
+        if (!HELLO_ACK.equals(tokens.next()) || !tokens.hasNext()) {
+            return TEXT;
+        }
+        String token = tokens.nextTrimmed();
+        return BINARY.token.equals(token) ? BINARY : TEXT;
+    }
+}
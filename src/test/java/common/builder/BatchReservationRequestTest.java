@@ -0,0 +1,91 @@
+package common.builder;
+
+import common.manager.ClassroomManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 다중 날짜 일괄 예약 요청 테스트
+ */
+class BatchReservationRequestTest {
+
+    private static final String ROOM = "배치-908호";
+    private ClassroomManager rooms;
+
+    @BeforeEach
+    void setUp() {
+        rooms = ClassroomManager.getInstance();
+        rooms.addClassroom(ROOM, 40);   // 허용 인원 20명
+    }
+
+    @AfterEach
+    void tearDown() {
+        rooms.removeClassroom(ROOM);
+    }
+
+    private ReservationRequest.Builder template() {
+        return new ReservationRequest.Builder("김교수", ROOM, "2025-01-01")
+            .time("1교시").endTime("3교시")
+            .purpose("정규 수업").userRole("교수").studentCount(15).userId("prof01");
+    }
+
+    /**
+     * 테스트 1: 날짜별로 펼쳐지고 프로토콜 왕복 후에도 같은 내용
+     */
+    @Test
+    @DisplayName("일괄 예약: 날짜별 요청으로 펼치고 한 줄 프로토콜로 왕복")
+    void testExpandAndRoundTrip() {
+        // Given & When
+        BatchReservationRequest batch = new BatchReservationRequest.Builder(template())
+            .dates(Arrays.asList("2025-01-22", "2025-01-15", "2025-01-29"))
+            .build();
+        BatchReservationRequest decoded = BatchReservationRequest.fromProtocol(batch.toProtocolString());
+
+        // Then
+        assertEquals(3, batch.size());
+        assertEquals("2025-01-15", batch.getRequests().get(0).getDate(), "날짜순으로 정렬");
+        assertEquals("수", batch.getRequests().get(0).getDay(), "요일은 날짜에서 계산");
+        assertEquals(0b111, batch.getPeriodMask());
+        assertEquals(batch.toProtocolString(), decoded.toProtocolString());
+        assertEquals("prof01", decoded.getRequests().get(2).getUserId());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new BatchReservationRequest.Builder(template()).date("2025-01-15").date("2025-01-15"));
+        assertThrows(IllegalArgumentException.class, () ->
+            new BatchReservationRequest.Builder(template()).build());
+    }
+
+    /**
+     * 테스트 2: 충돌 날짜가 하나라도 있으면 전체 거부, 인원 초과도 거부
+     */
+    @Test
+    @DisplayName("일괄 예약: 충돌/인원 초과 시 전부 거부")
+    void testValidateAllOrNothing() {
+        // Given
+        BatchReservationRequest batch = new BatchReservationRequest.Builder(template())
+            .dates(Arrays.asList("2025-01-15", "2025-01-22", "2025-01-29"))
+            .build();
+        List<ReservationRequest> existing = Arrays.asList(
+            new ReservationRequest.Builder("홍길동", ROOM, "2025-01-22").time("3교시").endTime("4교시")
+                .purpose("스터디").build(),
+            new ReservationRequest.Builder("홍길동", "다른호", "2025-01-29").time("1교시")
+                .purpose("스터디").build());
+
+        // When & Then
+        assertDoesNotThrow(() -> batch.validate(rooms, Collections.emptyList()));
+        IllegalStateException conflict = assertThrows(IllegalStateException.class,
+            () -> batch.validate(rooms, existing));
+        assertTrue(conflict.getMessage().contains("2025-01-22"));
+        assertFalse(conflict.getMessage().contains("2025-01-29"), "다른 강의실 예약은 충돌 아님");
+
+        BatchReservationRequest crowded = new BatchReservationRequest.Builder(template().studentCount(30))
+            .date("2025-01-15").build();
+        assertThrows(IllegalStateException.class, () -> crowded.validate(rooms, Collections.emptyList()));
+    }
+}
@@ -0,0 +1,80 @@
+package common.builder;
+
+import common.utils.ScheduleTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 반복 예약 규칙 테스트
+ */
+class RecurrenceRuleTest {
+
+    // 2025-03-03(월) ~ 2025-03-31(월), 월/수 1~2교시, 3/5(수) 휴강
+    private RecurrenceRule lecture() {
+        return new RecurrenceRule.Builder("908호", "2025-03-03", "2025-03-31")
+            .weekdays("월", "수")
+            .time("1교시").endTime("2교시")
+            .exclude("2025-03-05")
+            .build();
+    }
+
+    /**
+     * 테스트 1: 발생일 계산과 지연 펼치기
+     */
+    @Test
+    @DisplayName("반복 규칙: 요일/제외 날짜를 반영해 날짜별 요청으로 펼침")
+    void testExpansion() {
+        // Given
+        RecurrenceRule rule = lecture();
+        ReservationRequest.Builder template = new ReservationRequest.Builder("김교수", "무시됨", "2025-01-01")
+            .purpose("자료구조").userRole("교수").studentCount(10);
+
+        // When
+        List<ReservationRequest> expanded = new ArrayList<>();
+        rule.expand(template).forEach(expanded::add);
+
+        // Then (3월 월요일 5번 + 수요일 4번 - 휴강 1번)
+        assertEquals(8, rule.count());
+        assertEquals(8, expanded.size());
+        assertEquals("2025-03-03", expanded.get(0).getDate());
+        assertEquals("월", expanded.get(0).getDay());
+        assertEquals("2025-03-10", expanded.get(1).getDate(), "3/5 휴강은 건너뜀");
+        assertEquals("908호", expanded.get(1).getRoom());
+        assertEquals("2교시", expanded.get(1).getEndTime());
+        assertFalse(rule.occursOn(ScheduleTime.toEpochDay("2025-03-04")));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new RecurrenceRule.Builder("908호", "2025-03-03", "2025-03-31").build());
+        assertThrows(IllegalArgumentException.class, () ->
+            new RecurrenceRule.Builder("908호", "2025-03-03", "2025-03-31")
+                .weekday("월").exclude("2025-04-01").build());
+    }
+
+    /**
+     * 테스트 2: 단건 예약, 다른 규칙과의 충돌 검사
+     */
+    @Test
+    @DisplayName("반복 규칙: 비트셋으로 단건/규칙 간 충돌 검사")
+    void testConflicts() {
+        // Given
+        RecurrenceRule rule = lecture();
+        RecurrenceRule fridays = new RecurrenceRule.Builder("908호", "2025-03-01", "2025-06-30")
+            .weekday("금").time("1교시").build();
+        RecurrenceRule wednesdayAfternoon = new RecurrenceRule.Builder("908호", "2025-03-01", "2025-06-30")
+            .weekday("수").time("2교시").endTime("4교시").build();
+        RecurrenceRule onlyHoliday = new RecurrenceRule.Builder("908호", "2025-03-05", "2025-03-05")
+            .weekday("수").time("1교시").build();
+
+        // When & Then
+        assertTrue(rule.conflictsWith(new ReservationRequest.Builder("홍길동", "908호", "2025-03-12")
+            .time("2교시").purpose("스터디").build()));
+        assertFalse(rule.conflictsWith(new ReservationRequest.Builder("홍길동", "908호", "2025-03-05")
+            .time("1교시").purpose("스터디").build()), "휴강일은 비어 있음");
+        assertFalse(rule.conflictsWith(fridays), "요일이 다름");
+        assertTrue(rule.conflictsWith(wednesdayAfternoon), "수요일 2교시가 겹침");
+        assertFalse(rule.conflictsWith(onlyHoliday), "겹치는 유일한 날이 휴강일");
+    }
+}
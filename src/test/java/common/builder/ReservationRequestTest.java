@@ -160,4 +160,87 @@ public class ReservationRequestTest {
         assertTrue(str.contains("2025-03-10"));  // 날짜 확인
         assertTrue(str.contains("20"));  // 학생 수 확인
     }
+
+    @Test
+    @DisplayName("프로토콜 문자열 - 쉼표가 들어간 목적도 그대로 복원")
+    void testFromProtocolRoundTrip() {
+        // Given
+        ReservationRequest request = new ReservationRequest.Builder("김철수", "911호", "2025-01-20")
+            .day("금")
+            .time("3교시")
+            .purpose("회의, 발표 준비 \\ 리허설")
+            .userRole("교수")
+            .studentCount(10)
+            .userId("prof001")
+            .build();
+
+        // When
+        String protocol = request.toProtocolString();
+        ReservationRequest parsed = ReservationRequest.fromProtocol(protocol);
+
+        // Then
+        assertEquals("RESERVE_REQUEST,김철수,911호,2025-01-20,금,3교시,회의\\, 발표 준비 \\\\ 리허설,교수,10,prof001",
+            protocol);
+        assertEquals(request.getPurpose(), parsed.getPurpose());
+        assertEquals("prof001", parsed.getUserId());
+        assertEquals(10, parsed.getStudentCount());
+        assertThrows(IllegalArgumentException.class,
+            () -> ReservationRequest.fromProtocol("LOGIN,김철수"));
+    }
+
+    @Test
+    @DisplayName("시간 모델 - build() 시 날짜/교시를 정수로 변환하고 검증")
+    void testTypedTimeModel() {
+        // Given & When
+        ReservationRequest morning = new ReservationRequest.Builder("홍길동", "908호", "2025-01-15")
+            .time("1교시").endTime("3교시").purpose("스터디").build();
+        ReservationRequest overlapping = new ReservationRequest.Builder("김철수", "908호", "2025-01-15")
+            .time("3교시").purpose("회의").build();
+        ReservationRequest nextDay = new ReservationRequest.Builder("김철수", "908호", "2025-01-16")
+            .time("1교시").purpose("회의").build();
+
+        // Then
+        assertEquals(java.time.LocalDate.of(2025, 1, 15).toEpochDay(), morning.getEpochDay());
+        assertEquals(2, morning.getDayOfWeek(), "요일을 생략하면 날짜에서 계산 (수요일)");
+        assertEquals(0b111, morning.getPeriodMask());
+        assertEquals("3교시", overlapping.getEndTime(), "종료 교시를 생략하면 시작 교시와 같음");
+        assertTrue(morning.overlaps(overlapping));
+        assertFalse(morning.overlaps(nextDay));
+        assertTrue(ReservationRequest.CHRONOLOGICAL.compare(overlapping, nextDay) < 0);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new ReservationRequest.Builder("홍길동", "908호", "2025-13-01").purpose("스터디").build());
+        assertThrows(IllegalArgumentException.class, () ->
+            new ReservationRequest.Builder("홍길동", "908호", "2025-01-15")
+                .time("3교시").endTime("2교시").purpose("스터디").build());
+        assertThrows(IllegalArgumentException.class, () ->
+            new ReservationRequest.Builder("홍길동", "908호", "2025-01-15")
+                .time("오후").purpose("스터디").build());
+    }
+
+    @Test
+    @DisplayName("시간 모델 - README의 \"N교시(HH:MM~HH:MM)\" 형식 허용, 잘못된 요일 거부")
+    void testLegacyTimeFormat() {
+        // Given & When
+        ReservationRequest request = new ReservationRequest.Builder("홍길동", "101호", "2025-11-28")
+            .time("1교시(09:00~10:00)")
+            .endTime("2교시(10:00~11:00)")
+            .purpose("스터디")
+            .build();
+
+        // Then
+        assertEquals("1교시(09:00~10:00)", request.getTime(), "원래 문자열은 그대로 유지");
+        assertEquals(1, request.getStartPeriod());
+        assertEquals(2, request.getEndPeriod());
+        assertEquals(4, request.getDayOfWeek(), "2025-11-28은 금요일");
+        assertEquals(2, new ReservationRequest.Builder("홍길동", "101호", "2025-11-28")
+            .day("수요일").purpose("스터디").build().getDayOfWeek());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            new ReservationRequest.Builder("홍길동", "101호", "2025-11-28")
+                .day("월ABC").purpose("스터디").build());
+        assertThrows(IllegalArgumentException.class, () ->
+            new ReservationRequest.Builder("홍길동", "101호", "2025-11-28")
+                .time("1교시(09:00~10:00").purpose("스터디").build());
+    }
 }
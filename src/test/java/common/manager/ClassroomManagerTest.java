@@ -1,11 +1,14 @@
 package common.manager;
 
+import common.dto.ClassroomDTO;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ClassroomManager 싱글턴 패턴 테스트
@@ -320,4 +323,156 @@ class ClassroomManagerTest {
         assertEquals("908호,CLASS,30", classroom.toFileFormat());
         assertEquals("911호,LAB,40", lab.toFileFormat());
     }
+    
+    /**
+     * 테스트 15: 목록 버전과 변경분 동기화
+     */
+    @Test
+    @DisplayName("목록 버전: 마지막 버전 이후 변경분만 전송하고 클라이언트 목록에 적용")
+    void testCatalogDeltaSync() {
+        // Given: 클라이언트가 강의실 2개를 받은 상태
+        manager.addClassroom("908호", 30);
+        manager.addLab("911호", 40);
+        Map<String, ClassroomDTO> clientCatalog = new HashMap<>();
+        CatalogDelta initial = manager.getChangesSince(0, 0);
+        long clientVersion = initial.applyTo(clientCatalog);
+        
+        // When: 수용 인원 변경 두 번, 같은 내용 재추가, 추가, 삭제
+        manager.addClassroom("908호", 35);
+        manager.addClassroom("908호", 40);
+        manager.addLab("911호", 40);
+        manager.addClassroom("912호, 세미나실", 20);
+        manager.removeClassroom("911호");
+        CatalogDelta delta = manager.getChangesSince(initial.getEpoch(), clientVersion);
+        CatalogDelta received = CatalogDelta.fromProtocol(delta.toProtocol());
+        long newVersion = received.applyTo(clientCatalog);
+        
+        // Then
+        assertFalse(received.isFull());
+        assertEquals(3, received.getChanges().size(), "908호 수정 두 번은 하나로 합쳐져야 함");
+        assertEquals(manager.getCatalogVersion(), newVersion);
+        assertEquals(40, clientCatalog.get("908호").getCapacity());
+        assertEquals(20, clientCatalog.get("912호, 세미나실").getCapacity());
+        assertFalse(clientCatalog.containsKey("911호"));
+        assertTrue(manager.getChangesSince(received.getEpoch(), newVersion).isEmpty());
+    }
+    
+    /**
+     * 테스트 16: 알 수 없는 버전이면 전체 목록 전송
+     */
+    @Test
+    @DisplayName("목록 버전: 알 수 없는 버전이면 FULL 변경분으로 교체")
+    void testCatalogDeltaFullWhenVersionUnknown() {
+        // Given
+        manager.addClassroom("908호", 30);
+        manager.addLab("911호", 40);
+        Map<String, ClassroomDTO> clientCatalog = new HashMap<>();
+        clientCatalog.put("999호", new ClassroomDTO("999호", "CLASS", 10));
+        
+        // When
+        CatalogDelta delta = manager.getChangesSince(manager.getCatalogEpoch(), manager.getCatalogVersion() + 100);
+        delta.applyTo(clientCatalog);
+        
+        // Then
+        assertTrue(delta.isFull());
+        assertEquals(2, clientCatalog.size());
+        assertFalse(clientCatalog.containsKey("999호"));
+    }
+    
+    /**
+     * 테스트 17: 다른 epoch(서버 재시작 전)의 버전이면 전체 목록 전송
+     */
+    @Test
+    @DisplayName("목록 버전: epoch가 다르면 버전이 같아도 FULL 변경분으로 교체")
+    void testCatalogDeltaFullWhenEpochDiffers() {
+        // Given
+        manager.addClassroom("908호", 30);
+        long version = manager.getCatalogVersion();
+        
+        // When
+        CatalogDelta sameEpoch = manager.getChangesSince(manager.getCatalogEpoch(), version);
+        CatalogDelta otherEpoch = manager.getChangesSince(manager.getCatalogEpoch() + 1, version);
+        
+        // Then
+        assertTrue(sameEpoch.isEmpty());
+        assertTrue(otherEpoch.isFull());
+        assertEquals(manager.getCatalogEpoch(), otherEpoch.getEpoch());
+    }
+    
+    /**
+     * 테스트 18: 같은 이름의 강의실/실습실 변경분은 해당 타입에만 적용
+     */
+    @Test
+    @DisplayName("목록 버전: 같은 이름의 CLASS/LAB 중 변경된 타입만 갱신")
+    void testApplyDeltaKeepsOtherTypeWithSameName() {
+        // Given: 클라이언트 쪽 목록에 같은 이름의 강의실과 실습실
+        long epoch = manager.getCatalogEpoch();
+        manager.applyDelta(new CatalogDelta(epoch, 0, 2, true, List.of(
+            new CatalogDelta.Change(2, CatalogDelta.Kind.ADD, "공용실", "CLASS", 30),
+            new CatalogDelta.Change(2, CatalogDelta.Kind.ADD, "공용실", "LAB", 20))));
+        
+        // When
+        manager.applyDelta(CatalogDelta.fromProtocol(new CatalogDelta(epoch, 2, 4, false, List.of(
+            new CatalogDelta.Change(3, CatalogDelta.Kind.UPDATE, "공용실", "LAB", 24),
+            new CatalogDelta.Change(4, CatalogDelta.Kind.REMOVE, "공용실", "CLASS", 0))).toProtocol()));
+        
+        // Then
+        assertTrue(manager.getAllClassrooms().isEmpty());
+        assertEquals(1, manager.getAllLabs().size());
+        assertEquals(24, manager.getAllLabs().get(0).capacity);
+        assertEquals(4, manager.getCatalogVersion());
+    }
+    
+    /**
+     * 테스트 19: null 이름 입력 처리
+     */
+    @Test
+    @DisplayName("null 이름: 추가는 거부하고 삭제는 false 반환")
+    void testNullNameIsRejected() {
+        // Given
+        long version = manager.getCatalogVersion();
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> manager.addClassroom(null, 30));
+        assertThrows(IllegalArgumentException.class, () -> manager.addLab(null, 20));
+        assertFalse(manager.removeClassroom(null));
+        assertNull(manager.getClassroom(null));
+        assertEquals(version, manager.getCatalogVersion());
+    }
+    
+    /**
+     * 테스트 20: 전체 교체 중에도 잠금 없는 조회는 빈 목록을 보지 않음
+     */
+    @Test
+    @DisplayName("목록 버전: FULL 변경분 적용 중 동시 조회에서 기존 강의실이 사라지지 않음")
+    void testFullDeltaIsSwappedAtomically() throws InterruptedException {
+        // Given
+        long epoch = manager.getCatalogEpoch();
+        CatalogDelta full = new CatalogDelta(epoch, 0, 1, true, List.of(
+            new CatalogDelta.Change(1, CatalogDelta.Kind.ADD, "908호", "CLASS", 30),
+            new CatalogDelta.Change(1, CatalogDelta.Kind.ADD, "911호", "LAB", 20)));
+        manager.applyDelta(full);
+        java.util.concurrent.atomic.AtomicBoolean done = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.concurrent.atomic.AtomicInteger misses = new java.util.concurrent.atomic.AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                if (manager.getClassroom("908호") == null) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        
+        // When
+        for (int i = 0; i < 5000; i++) {
+            manager.applyDelta(full);
+        }
+        done.set(true);
+        reader.join();
+        
+        // Then
+        assertEquals(0, misses.get());
+        assertEquals(1, manager.getAllClassrooms().size());
+        assertEquals(1, manager.getAllLabs().size());
+    }
 }
@@ -0,0 +1,90 @@
+package common.manager;
+
+import common.builder.ReservationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 예약 요청 일괄 검증기 테스트
+ */
+class ReservationValidatorTest {
+
+    private static final String ROOM = "검증-911호";
+    private ClassroomManager rooms;
+    private ReservationValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        rooms = ClassroomManager.getInstance();
+        rooms.addClassroom(ROOM, 20);   // 허용 인원 10명
+        validator = new ReservationValidator(rooms, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validator.shutdown();
+        rooms.removeClassroom(ROOM);
+    }
+
+    private ReservationRequest request(String room, String time, int count) {
+        return new ReservationRequest.Builder("홍길동", room, "2025-03-10")
+            .time(time).purpose("스터디").studentCount(count).build();
+    }
+
+    /**
+     * 테스트 1: 규칙별 판정
+     */
+    @Test
+    @DisplayName("검증기: 인원 초과, 없는 강의실, 운영 시간/기간 밖 요청 거부")
+    void testRules() {
+        // Given
+        validator.setLastPeriod(9);
+        validator.setBookingWindow("2025-03-01", "2025-06-30");
+
+        // When & Then
+        assertTrue(validator.validate(request(ROOM, "1교시", 10)).isAccepted());
+        assertEquals(ReservationValidator.Status.OVER_CAPACITY,
+            validator.validate(request(ROOM, "1교시", 11)).getStatus());
+        assertEquals(ReservationValidator.Status.UNKNOWN_ROOM,
+            validator.validate(request("없는호", "1교시", 1)).getStatus());
+        assertEquals(ReservationValidator.Status.INVALID_TIME,
+            validator.validate(request(ROOM, "10교시", 1)).getStatus());
+        assertEquals(ReservationValidator.Status.INVALID_TIME,
+            validator.validate(new ReservationRequest.Builder("홍길동", ROOM, "2025-07-01")
+                .purpose("스터디").build()).getStatus());
+        assertEquals(ReservationValidator.Status.MISSING_FIELD,
+            validator.validate(new ReservationRequest.Builder("홍길동", ROOM, "2025-03-10")
+                .purpose("스터디").userRole(" ").build()).getStatus());
+    }
+
+    /**
+     * 테스트 2: 병렬로 나눠 검사해도 입력 순서대로 판정 반환
+     */
+    @Test
+    @DisplayName("검증기: 병렬 일괄 검증 결과가 입력 순서를 유지하고 통계를 집계")
+    void testParallelBatchKeepsOrder() {
+        // Given (짝수 번째는 통과, 홀수 번째는 인원 초과)
+        List<ReservationRequest> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(request(ROOM, "1교시", i % 2 == 0 ? 5 : 50));
+        }
+
+        // When
+        List<ReservationValidator.Verdict> verdicts = validator.validateAll(batch);
+
+        // Then
+        assertEquals(1000, verdicts.size());
+        for (int i = 0; i < verdicts.size(); i++) {
+            assertEquals(i % 2 == 0, verdicts.get(i).isAccepted(), "순서 " + i);
+        }
+        assertEquals(1, validator.getBatchCount());
+        assertEquals(1000, validator.getValidatedCount());
+        assertEquals(500, validator.getRejectedCount());
+        assertTrue(validator.getThroughputPerSecond() > 0);
+    }
+}
@@ -0,0 +1,145 @@
+package common.model;
+
+import common.model.ReservedRoomModel.Reservation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다중 색인 예약 저장소 테스트
+ */
+class ReservationIndexTest {
+
+    /**
+     * 테스트 1: 색인별 조회와 삭제 후 색인 정리
+     */
+    @Test
+    @DisplayName("예약 색인: 강의실/요일+교시/사용자별 조회와 삭제")
+    void testLookupsAndRemoval() {
+        // Given
+        ReservationIndex index = new ReservationIndex();
+        Reservation a = new Reservation("홍길동", "908호", "월", "1교시", "스터디");
+        Reservation b = new Reservation("김철수", "908호", "월", "2교시", "회의");
+        Reservation c = new Reservation("홍길동", "911호", "월", "1교시", "발표 준비");
+
+        // When
+        assertTrue(index.add(a));
+        assertTrue(index.add(b));
+        assertTrue(index.add(c));
+        assertFalse(index.add(new Reservation("홍길동", "908호", "월", "1교시", "스터디")), "같은 예약은 한 번만");
+
+        // Then
+        assertEquals(3, index.size());
+        assertEquals(2, index.findByRoom("908호").size());
+        assertEquals(2, index.findBySlot("월", "1교시").size());
+        assertEquals(2, index.findByUser("홍길동").size());
+        assertTrue(index.isOccupied("908호", "월", "2교시"));
+        assertFalse(index.isOccupied("911호", "월", "2교시"));
+        assertThrows(UnsupportedOperationException.class, () -> index.findByRoom("908호").clear());
+
+        assertTrue(index.remove(b));
+        assertFalse(index.remove(b));
+        assertFalse(index.isOccupied("908호", "월", "2교시"));
+        assertTrue(index.findByUser("김철수").isEmpty());
+        assertEquals(1, index.findByRoom("908호").size());
+    }
+
+    /**
+     * 테스트 2: 쓰는 도중 순회해도 예외가 없고 최종 색인이 일관됨
+     */
+    @Test
+    @DisplayName("예약 색인: 동시 추가/삭제 중 순회 안전")
+    void testConcurrentWritesAndIteration() throws Exception {
+        // Given
+        ReservationIndex index = new ReservationIndex();
+        int writers = 4;
+        int perWriter = 500;
+        CountDownLatch done = new CountDownLatch(writers);
+        List<Throwable> errors = new ArrayList<>();
+
+        // When (짝수 번째만 남기고 홀수 번째는 추가 후 삭제)
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < perWriter; i++) {
+                        Reservation r = new Reservation("user" + writer, "9" + (i % 10) + "호",
+                            "화", (i % 9 + 1) + "교시", "목적" + i);
+                        index.add(r);
+                        if (i % 2 == 1) {
+                            index.remove(r);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        try {
+            while (done.getCount() > 0) {
+                for (Reservation r : index.findBySlot("화", "1교시")) {
+                    assertNotNull(r);
+                }
+                for (Reservation r : index.getAll()) {
+                    assertNotNull(r);
+                }
+            }
+        } catch (Throwable t) {
+            errors.add(t);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        // Then
+        assertTrue(errors.isEmpty(), errors.toString());
+        assertEquals(writers * perWriter / 2, index.size());
+        assertEquals(perWriter / 2, index.findByUser("user0").size());
+        int bySlots = 0;
+        for (int p = 1; p <= 9; p++) {
+            bySlots += index.findBySlot("화", p + "교시").size();
+        }
+        assertEquals(index.size(), bySlots);
+    }
+
+    /**
+     * 테스트 3: 칸 키 구성, 해석할 수 없는 요일/교시 처리, 캐시된 해시
+     */
+    @Test
+    @DisplayName("예약 색인: 칸 키 조회, 자유 형식 요일/교시 예약도 색인, 해시/동등성")
+    void testSlotKeyAndCachedHash() {
+        // Given
+        Reservation reservation = new Reservation("홍길동", "908호", "수요일", "3교시", "스터디");
+        Reservation same = new Reservation("홍길동", "908호", "수요일", "3교시", "스터디");
+        Reservation freeForm = new Reservation("김철수", "908호", "수요일", "오후", "회의");
+        ReservationIndex index = new ReservationIndex();
+        ReservationIndex other = new ReservationIndex();
+        other.add(new Reservation("이영희", "911호", "월", "1교시", "회의"));
+
+        // When
+        index.add(reservation);
+        assertTrue(index.add(freeForm), "요일/교시를 해석할 수 없어도 색인에 추가");
+        long key = index.slotKeyOf("908호", "수", "3교시");
+
+        // Then
+        assertEquals(2, SlotKey.dayOf(key));
+        assertEquals(3, SlotKey.periodOf(key));
+        assertEquals(0, SlotKey.roomIdOf(key), "강의실 번호는 저장소마다 따로 매김");
+        assertEquals(0, SlotKey.roomIdOf(other.slotKeyOf("911호", "월", "1교시")));
+        assertTrue(index.isOccupied(key));
+        assertTrue(index.isOccupied("908호", "수", "3교시(11:00~12:00)"), "요일/교시 표기가 달라도 같은 칸");
+        assertTrue(index.isOccupied("908호", "수요일", "오후"));
+        assertEquals(1, index.findBySlot("수요일", "오후").size());
+        assertFalse(index.isOccupied("등록안된호", "수", "3교시"));
+        assertTrue(index.findByRoomAndSlot("908호", "아무날", "3교시").isEmpty());
+        assertEquals(-1, index.slotKeyOf("등록안된호", "수", "3교시"));
+
+        assertTrue(index.remove(freeForm));
+        assertFalse(index.isOccupied("908호", "수요일", "오후"));
+        assertEquals(reservation.hashCode(), same.hashCode());
+        assertEquals(reservation, same);
+        assertNotEquals(reservation, new Reservation("홍길동", "908호", "수요일", "3교시", "회의"));
+    }
+}
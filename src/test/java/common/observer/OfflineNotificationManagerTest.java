@@ -39,6 +39,7 @@ class OfflineNotificationManagerTest {
     @AfterEach
     void tearDown() {
         // 각 테스트 후 알림 파일 정리
+        manager.setSharedStoreMode(false);
         cleanupNotificationFiles();
     }
     
@@ -340,6 +341,216 @@ class OfflineNotificationManagerTest {
         assertFalse(notificationFile.exists(), "7일 이상된 알림 파일은 삭제되어야 함");
     }
     
+    /**
+     * 테스트 11: 공유 저장소 모드 저장/조회/삭제
+     */
+    @Test
+    @DisplayName("공유 저장소 모드: 삭제 대신 파일을 비움")
+    void testSharedStoreModeClearTruncates() {
+        // Given
+        manager.setSharedStoreMode(true);
+        String userId = "sharedUser";
+        manager.saveNotification(userId, createNotification(
+            userId, "908호", "2025-01-15", ReservationNotification.NotificationType.APPROVED
+        ));
+        manager.saveNotification(userId, createNotification(
+            userId, "912호", "2025-01-16", ReservationNotification.NotificationType.CANCELLED
+        ));
+        
+        // When
+        List<ReservationNotification> before = manager.getNotifications(userId);
+        manager.clearNotifications(userId);
+        
+        // Then
+        File notificationFile = new File(TEST_BASE_DIR + "/notifications/" + userId + "_notifications.txt");
+        assertEquals(2, before.size());
+        assertEquals("912호", before.get(1).getRoom());
+        assertTrue(notificationFile.exists(), "공유 모드에서는 파일을 삭제하지 않아야 함");
+        assertEquals(0, notificationFile.length(), "공유 모드에서는 파일을 비워야 함");
+        assertEquals(0, manager.getNotificationCount(userId));
+    }
+    
+    /**
+     * 테스트 12: 조회와 삭제를 한 번에 처리
+     */
+    @Test
+    @DisplayName("drainNotifications: 조회 후 비움")
+    void testDrainNotifications() {
+        for (boolean shared : new boolean[] {false, true}) {
+            // Given
+            manager.setSharedStoreMode(shared);
+            String userId = "drainUser";
+            manager.saveNotification(userId, createNotification(
+                userId, "908호", "2025-01-15", ReservationNotification.NotificationType.APPROVED
+            ));
+            
+            // When
+            List<ReservationNotification> drained = manager.drainNotifications(userId);
+            
+            // Then
+            assertEquals(1, drained.size(), "저장된 알림이 반환되어야 함 (shared=" + shared + ")");
+            assertEquals(0, manager.getNotificationCount(userId), "반환 후에는 비어 있어야 함");
+        }
+    }
+    
+    /**
+     * 테스트 13: 공유 모드에서 동시 저장 시 레코드가 섞이거나 유실되지 않음
+     */
+    @Test
+    @DisplayName("공유 저장소 모드: 동시 저장 시 유실 없음")
+    void testSharedStoreModeConcurrentAppends() throws InterruptedException {
+        // Given
+        manager.setSharedStoreMode(true);
+        String userId = "concurrentUser";
+        final int THREAD_COUNT = 8;
+        final int PER_THREAD = 25;
+        Thread[] threads = new Thread[THREAD_COUNT];
+        
+        // When
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < PER_THREAD; j++) {
+                    manager.saveNotification(userId, createNotification(
+                        userId, "908호", "2025-01-15", ReservationNotification.NotificationType.APPROVED
+                    ));
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Then
+        List<ReservationNotification> notifications = manager.getNotifications(userId);
+        assertEquals(THREAD_COUNT * PER_THREAD, notifications.size(), "모든 알림이 온전히 저장되어야 함");
+    }
+    
+    /**
+     * 테스트 14: 대량 저장 - 사용자별로 묶어서 저장
+     */
+    @Test
+    @DisplayName("대량 저장: 사용자별 결과와 처리량 보고")
+    void testSaveNotificationsBulk() {
+        // Given
+        final int USER_COUNT = 50;
+        List<ReservationNotification> batch = new java.util.ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            String userId = "bulkUser" + i;
+            batch.add(createNotification(userId, "908호", "2025-01-15",
+                ReservationNotification.NotificationType.CANCELLED));
+        }
+        // 한 사용자에게 두 번째 알림
+        batch.add(createNotification("bulkUser0", "912호", "2025-01-16",
+            ReservationNotification.NotificationType.CANCELLED));
+        
+        // When
+        OfflineNotificationManager.BulkSaveResult result = manager.saveNotifications(batch);
+        
+        // Then
+        assertEquals(USER_COUNT + 1, result.getNotificationCount());
+        assertEquals(USER_COUNT, result.getSuccessCount(), "사용자마다 성공으로 보고되어야 함");
+        assertEquals(0, result.getFailureCount());
+        assertTrue(result.isSaved("bulkUser7"));
+        assertTrue(result.getThroughputPerSecond() > 0);
+        assertEquals(2, manager.getNotificationCount("bulkUser0"));
+        assertEquals(1, manager.getNotificationCount("bulkUser49"));
+    }
+    
+    /**
+     * 테스트 15: 중복 저장 방지 창
+     */
+    @Test
+    @DisplayName("중복 저장 방지: 창 안의 같은 알림은 한 번만 저장")
+    void testDuplicateWindowSuppressesRepeats() throws InterruptedException {
+        // Given
+        String userId = "testUser";
+        manager.setDuplicateWindow(200);
+        long suppressedBefore = manager.getSuppressedCount();
+        try {
+            ReservationNotification notification = createNotification(userId, "908호", "2025-01-15",
+                ReservationNotification.NotificationType.APPROVED);
+            
+            // When: 재시도로 같은 알림이 두 번, 다른 날짜 알림이 한 번
+            manager.saveNotification(userId, notification);
+            manager.saveNotification(userId, createNotification(userId, "908호", "2025-01-15",
+                ReservationNotification.NotificationType.APPROVED));
+            manager.saveNotification(userId, createNotification(userId, "908호", "2025-01-16",
+                ReservationNotification.NotificationType.APPROVED));
+            
+            // Then
+            assertEquals(2, manager.getNotificationCount(userId));
+            assertEquals(suppressedBefore + 1, manager.getSuppressedCount());
+            
+            // 창이 지나면 다시 저장됨
+            Thread.sleep(300);
+            manager.saveNotification(userId, notification);
+            assertEquals(3, manager.getNotificationCount(userId));
+        } finally {
+            manager.setDuplicateWindow(0);
+        }
+    }
+    
+    /**
+     * 테스트 16: 공유 모드 정리는 잠금 후 오래된 줄만 지우고 파일 잠금 항목을 남기지 않음
+     */
+    @Test
+    @DisplayName("공유 저장소 모드: 오래된 알림 정리 시 새로 추가된 줄은 유지")
+    void testSharedCleanupKeepsFreshLines() throws Exception {
+        // Given: 8일 전에 저장된 줄과 방금 저장된 줄이 같은 파일에 있고, 파일 수정 시각은 오래됨
+        manager.setSharedStoreMode(true);
+        String userId = "sharedOldUser";
+        File notificationFile = new File(TEST_BASE_DIR + "/notifications/" + userId + "_notifications.txt");
+        long eightDaysAgo = System.currentTimeMillis() - (8L * 24 * 60 * 60 * 1000);
+        java.nio.file.Files.write(notificationFile.toPath(), (
+            "APPROVED|오래된 알림|908호|2025-01-15|수요일|09:00-10:00|" + eightDaysAgo + System.lineSeparator()
+            + "CANCELLED|새 알림|912호|2025-01-16|목요일|10:00-11:00|" + System.currentTimeMillis()
+            + System.lineSeparator()).getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        notificationFile.setLastModified(eightDaysAgo);
+        
+        // When
+        manager.cleanupOldNotifications();
+        
+        // Then
+        List<ReservationNotification> remaining = manager.getNotifications(userId);
+        assertEquals(1, remaining.size(), "오래된 줄만 지워져야 함");
+        assertEquals("새 알림", remaining.get(0).getMessage());
+        assertEquals("912호", remaining.get(0).getRoom());
+        assertEquals(0, manager.getActiveFileLockCount(), "사용이 끝난 파일 잠금은 제거되어야 함");
+    }
+    
+    /**
+     * 테스트 17: 단일 프로세스 모드의 삭제도 저장과 같은 파일 잠금 아래에서 실행
+     */
+    @Test
+    @DisplayName("알림 삭제: 저장과 동시에 삭제해도 깨진 줄 없이 정리되고 파일 잠금 항목을 남기지 않음")
+    void testLocalClearRunsUnderFileLock() throws InterruptedException {
+        // Given
+        String userId = "clearRaceUser";
+        final int COUNT = 200;
+        Thread saver = new Thread(() -> {
+            for (int i = 0; i < COUNT; i++) {
+                manager.saveNotification(userId, createNotification(userId, "908호", "2025-01-15",
+                    ReservationNotification.NotificationType.APPROVED));
+            }
+        });
+        
+        // When: 저장하는 동안 계속 삭제
+        saver.start();
+        while (saver.isAlive()) {
+            manager.clearNotifications(userId);
+        }
+        saver.join();
+        
+        // Then: 남은 줄은 모두 온전하고, 마지막 삭제 후에는 비어 있음
+        List<ReservationNotification> remaining = manager.getNotifications(userId);
+        assertTrue(remaining.size() <= COUNT);
+        remaining.forEach(n -> assertEquals("908호", n.getRoom()));
+        manager.clearNotifications(userId);
+        assertEquals(0, manager.getNotificationCount(userId));
+        assertEquals(0, manager.getActiveFileLockCount(), "사용이 끝난 파일 잠금은 제거되어야 함");
+    }
+    
     /**
      * 헬퍼 메서드: 테스트용 알림 생성
      */
@@ -0,0 +1,947 @@
+package common.observer;
+
+import common.utils.BinaryCodec;
+import common.utils.WireFormat;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ReservationSubject 알림 전송 테스트
+ */
+class ReservationSubjectTest {
+
+    private static final String TEST_BASE_DIR = "test_notifications";
+    private ReservationSubject subject;
+
+    @BeforeAll
+    static void setUpClass() {
+        new File(TEST_BASE_DIR + "/notifications").mkdirs();
+    }
+
+    @BeforeEach
+    void setUp() {
+        subject = ReservationSubject.getInstance();
+        subject.initializeOfflineManager(TEST_BASE_DIR);
+        subject.clearAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        subject.clearAll();
+        subject.setQueueCapacity(ReservationSubject.DEFAULT_QUEUE_CAPACITY);
+        subject.setOverflowPolicy(OverflowPolicy.SPILL_TO_OFFLINE, 100);
+        subject.stopHealthSweeper();
+        subject.setCoalescing(0, 1);
+        subject.disableAcknowledgements();
+        subject.setReplayOnRegister(false);
+        subject.setDuplicateWindow(0);
+        OfflineNotificationManager.getInstance().clearNotifications("slowUser");
+        OfflineNotificationManager.getInstance().clearNotifications("deadUser");
+        OfflineNotificationManager.getInstance().clearNotifications("offlineUser");
+    }
+
+    /**
+     * 테스트 1: 등록된 클라이언트에게 알림 전달
+     */
+    @Test
+    @DisplayName("온라인 사용자에게 알림 전달")
+    void testNotifyOnlineUser() throws InterruptedException {
+        // Given
+        StringWriter output = new StringWriter();
+        subject.registerClient("user1", new PrintWriter(output));
+
+        // When
+        subject.notifyUser(createNotification("user1", "908호"));
+
+        // Then
+        assertTrue(await(() -> output.toString().contains("NOTIFICATION,APPROVED")),
+            "송신 스레드가 알림을 기록해야 함");
+        assertTrue(output.toString().contains("908호"));
+    }
+
+    /**
+     * 테스트 2: 느린 소켓이 notifyUser 호출자를 막지 않음
+     */
+    @Test
+    @DisplayName("느린 클라이언트가 있어도 notifyUser는 즉시 반환")
+    void testSlowClientDoesNotBlockNotify() throws InterruptedException {
+        // Given: 쓰기가 풀릴 때까지 멈춰 있는 클라이언트와 정상 클라이언트
+        CountDownLatch release = new CountDownLatch(1);
+        subject.registerClient("user1", new PrintWriter(new BlockingWriter(release)));
+        StringWriter fastOutput = new StringWriter();
+        subject.registerClient("user1", new PrintWriter(fastOutput));
+
+        // When: 느린 클라이언트의 쓰기가 멈춘 상태에서 다른 스레드가 전송
+        CountDownLatch notified = new CountDownLatch(1);
+        new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                subject.notifyUser(createNotification("user1", "908호"));
+            }
+            notified.countDown();
+        }).start();
+
+        // Then: 쓰기가 풀리기 전에 모든 호출이 끝남
+        assertTrue(notified.await(5, TimeUnit.SECONDS), "느린 클라이언트 때문에 호출이 막히면 안 됨");
+        assertEquals(1, release.getCount(), "멈춘 쓰기가 풀리지 않은 상태여야 함");
+        assertTrue(await(() -> fastOutput.toString().split("\n").length == 10),
+            "정상 클라이언트는 모든 알림을 받아야 함");
+        release.countDown();
+    }
+
+    /**
+     * 테스트 3: 클라이언트 제거
+     */
+    @Test
+    @DisplayName("클라이언트 등록 및 제거")
+    void testRegisterAndUnregister() {
+        // Given
+        PrintWriter writer = new PrintWriter(new StringWriter());
+        subject.registerClient("user1", writer);
+        assertEquals(1, subject.getClientCount("user1"));
+
+        // When
+        subject.unregisterClient("user1", writer);
+
+        // Then
+        assertEquals(0, subject.getClientCount("user1"));
+    }
+
+    /**
+     * 테스트 4: 대기열 초과 시 오프라인 저장으로 넘김
+     */
+    @Test
+    @DisplayName("SPILL_TO_OFFLINE: 대기열 초과 알림은 오프라인 저장")
+    void testSpillToOfflineOnOverflow() throws InterruptedException {
+        // Given: 대기열 2칸, 멈춘 클라이언트 (첫 알림은 송신 스레드가 잡고 멈춤)
+        CountDownLatch release = new CountDownLatch(1);
+        subject.setQueueCapacity(2);
+        subject.setOverflowPolicy(OverflowPolicy.SPILL_TO_OFFLINE, 0);
+        subject.registerClient("slowUser", new PrintWriter(new BlockingWriter(release)));
+        subject.notifyUser(createNotification("slowUser", "908호"));
+        assertTrue(await(() -> subject.getQueueDepth("slowUser") == 0));
+        long spilledBefore = subject.getSpilledCount();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            subject.notifyUser(createNotification("slowUser", "908호"));
+        }
+
+        // Then
+        assertEquals(2, subject.getQueueDepth("slowUser"), "대기열 크기를 넘지 않아야 함");
+        assertEquals(3, subject.getSpilledCount() - spilledBefore);
+        assertEquals(3, OfflineNotificationManager.getInstance().getNotificationCount("slowUser"),
+            "넘친 알림은 유실되지 않고 오프라인에 저장되어야 함");
+        release.countDown();
+    }
+
+    /**
+     * 테스트 5: 가장 오래된 알림을 버림
+     */
+    @Test
+    @DisplayName("DROP_OLDEST: 대기열 크기를 유지하며 오래된 알림을 버림")
+    void testDropOldestOnOverflow() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        subject.setQueueCapacity(2);
+        subject.setOverflowPolicy(OverflowPolicy.DROP_OLDEST, 0);
+        subject.registerClient("slowUser", new PrintWriter(new BlockingWriter(release)));
+        subject.notifyUser(createNotification("slowUser", "908호"));
+        assertTrue(await(() -> subject.getQueueDepth("slowUser") == 0));
+        long droppedBefore = subject.getDroppedCount();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            subject.notifyUser(createNotification("slowUser", "908호"));
+        }
+
+        // Then
+        assertEquals(2, subject.getQueueDepth("slowUser"));
+        assertEquals(3, subject.getDroppedCount() - droppedBefore);
+        assertEquals(0, OfflineNotificationManager.getInstance().getNotificationCount("slowUser"));
+        release.countDown();
+    }
+
+    /**
+     * 테스트 6: 제한 시간 동안 기다린 뒤 오프라인 저장
+     */
+    @Test
+    @DisplayName("BLOCK: 자리가 나면 이어서 전송, 제한 시간 초과 시 오프라인 저장")
+    void testBlockWithTimeoutOnOverflow() throws InterruptedException {
+        // Given: 대기열 1칸이 찬 멈춘 클라이언트
+        CountDownLatch release = new CountDownLatch(1);
+        subject.setQueueCapacity(1);
+        subject.setOverflowPolicy(OverflowPolicy.BLOCK, 60_000);
+        StringWriter output = new StringWriter();
+        subject.registerClient("slowUser", new PrintWriter(new BlockingWriter(release, output)));
+        subject.notifyUser(createNotification("slowUser", "908호"));
+        assertTrue(await(() -> subject.getQueueDepth("slowUser") == 0));
+        subject.notifyUser(createNotification("slowUser", "908호"));
+
+        // When: 세 번째 호출은 자리가 날 때까지 기다림
+        CountDownLatch notified = new CountDownLatch(1);
+        Thread caller = new Thread(() -> {
+            subject.notifyUser(createNotification("slowUser", "912호"));
+            notified.countDown();
+        });
+        caller.start();
+
+        // Then: 기다리는 동안은 반환하지 않고, 쓰기가 풀리면 오프라인 저장 없이 전송됨
+        assertTrue(await(() -> caller.getState() == Thread.State.TIMED_WAITING), "대기열에 자리가 나기를 기다려야 함");
+        assertEquals(1, notified.getCount());
+        release.countDown();
+        assertTrue(notified.await(5, TimeUnit.SECONDS));
+        assertTrue(await(() -> output.toString().contains("912호")));
+        assertEquals(0, OfflineNotificationManager.getInstance().getNotificationCount("slowUser"));
+
+        // 제한 시간 안에 자리가 나지 않으면 오프라인 저장
+        CountDownLatch stuck = new CountDownLatch(1);
+        subject.setOverflowPolicy(OverflowPolicy.BLOCK, 50);
+        subject.registerClient("deadUser", new PrintWriter(new BlockingWriter(stuck)));
+        subject.notifyUser(createNotification("deadUser", "908호"));
+        assertTrue(await(() -> subject.getQueueDepth("deadUser") == 0));
+        subject.notifyUser(createNotification("deadUser", "908호"));
+        subject.notifyUser(createNotification("deadUser", "908호"));
+        assertEquals(1, OfflineNotificationManager.getInstance().getNotificationCount("deadUser"));
+        stuck.countDown();
+    }
+
+    /**
+     * 테스트 7: 쓰기 실패한 연결은 제거되고 알림은 오프라인 저장
+     */
+    @Test
+    @DisplayName("끊어진 연결 감지: 제거 후 오프라인 저장")
+    void testFailedWriterIsEvicted() throws InterruptedException {
+        // Given
+        long evictedBefore = subject.getEvictedCount();
+        subject.registerClient("deadUser", new PrintWriter(new FailingWriter()));
+
+        // When
+        subject.notifyUser(createNotification("deadUser", "908호"));
+
+        // Then
+        assertTrue(await(() -> subject.getClientCount("deadUser") == 0), "끊어진 연결은 제거되어야 함");
+        assertTrue(await(() -> OfflineNotificationManager.getInstance().getNotificationCount("deadUser") == 1),
+            "전달하지 못한 알림은 오프라인에 저장되어야 함");
+        assertEquals(1, subject.getEvictedCount() - evictedBefore);
+
+        // 이후 알림은 바로 오프라인 저장
+        subject.notifyUser(createNotification("deadUser", "912호"));
+        assertEquals(2, OfflineNotificationManager.getInstance().getNotificationCount("deadUser"));
+    }
+
+    /**
+     * 테스트 8: 주기 점검으로 멈춘 연결 제거
+     */
+    @Test
+    @DisplayName("주기 점검: 멈춘 연결 제거 후 대기 알림 오프라인 저장")
+    void testSweeperEvictsStalledWriter() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        subject.registerClient("deadUser", new PrintWriter(new BlockingWriter(release)));
+        subject.notifyUser(createNotification("deadUser", "908호"));
+        subject.notifyUser(createNotification("deadUser", "912호"));
+
+        // When
+        subject.startHealthSweeper(20, 50);
+
+        // Then
+        assertTrue(await(() -> subject.getClientCount("deadUser") == 0), "멈춘 연결은 제거되어야 함");
+        assertTrue(await(() -> OfflineNotificationManager.getInstance().getNotificationCount("deadUser") == 2),
+            "쓰기 중이던 알림과 대기 알림 모두 오프라인에 저장되어야 함");
+        release.countDown();
+    }
+
+    /**
+     * 테스트 9: 한 번 직렬화한 프레임을 여러 연결에 전송
+     */
+    @Test
+    @DisplayName("브로드캐스트: 바이트/문자 연결 모두 같은 프레임 수신, 오프라인은 저장")
+    void testBroadcastEncodeOnce() throws InterruptedException {
+        // Given
+        java.io.ByteArrayOutputStream byteOutput = new java.io.ByteArrayOutputStream();
+        StringWriter charOutput = new StringWriter();
+        subject.registerClient("user1", byteOutput);
+        subject.registerClient("user2", new PrintWriter(charOutput));
+        ReservationNotification notice = createNotification("admin", "908호");
+
+        // When
+        OfflineNotificationManager.BulkSaveResult result =
+            subject.broadcast(notice, java.util.List.of("user1", "user2", "offlineUser"));
+
+        // Then
+        String expected = NotificationFrame.of(notice).getText();
+        assertTrue(await(() -> byteOutput.toString(java.nio.charset.StandardCharsets.UTF_8).equals(expected + "\n")));
+        assertTrue(await(() -> charOutput.toString().trim().equals(expected)));
+        assertTrue(result.isSaved("offlineUser"));
+        List<ReservationNotification> stored =
+            OfflineNotificationManager.getInstance().getNotifications("offlineUser");
+        assertEquals(1, stored.size());
+        assertEquals("offlineUser", stored.get(0).getUserId());
+    }
+
+    /**
+     * 테스트 10: 프레임 바이트 뷰는 읽기 전용
+     */
+    @Test
+    @DisplayName("NotificationFrame: 읽기 전용 바이트 뷰")
+    void testNotificationFrameIsImmutable() {
+        // Given
+        NotificationFrame frame = NotificationFrame.of(createNotification("user1", "908호"));
+
+        // When
+        java.nio.ByteBuffer view = frame.asByteBuffer();
+
+        // Then
+        assertTrue(view.isReadOnly());
+        assertEquals(frame.length(), view.remaining());
+        assertEquals("NOTIFICATION,APPROVED,테스트 메시지,908호,2025-01-15,월요일,09:00-10:00", frame.getText());
+    }
+
+    /**
+     * 테스트 11: 주제 발행 - 접속자는 전송, 미접속자는 오프라인 저장
+     */
+    @Test
+    @DisplayName("주제 발행: 강의실 구독자에게 전송, 미접속 구독자는 오프라인 저장")
+    void testPublishToTopic() throws InterruptedException {
+        // Given
+        NotificationTopic room = NotificationTopic.room("908호");
+        StringWriter output = new StringWriter();
+        subject.registerClient("user1", new PrintWriter(output));
+        subject.subscribe(room, "user1");
+        subject.subscribe(room, "offlineUser");
+        subject.subscribe(NotificationTopic.room("912호"), "user2");
+
+        // When
+        OfflineNotificationManager.BulkSaveResult result =
+            subject.publish(room, createNotification("admin", "908호"));
+
+        // Then
+        assertTrue(await(() -> output.toString().contains("908호")));
+        assertTrue(result.isSaved("offlineUser"));
+        assertFalse(result.getUserResults().containsKey("user2"), "다른 주제 구독자는 받지 않아야 함");
+        assertEquals(1, OfflineNotificationManager.getInstance().getNotificationCount("offlineUser"));
+
+        subject.unsubscribeAll("user1");
+        subject.unsubscribeAll("offlineUser");
+        subject.unsubscribeAll("user2");
+        assertTrue(subject.getSubscribers(room).isEmpty());
+    }
+
+    /**
+     * 테스트 12: 묶음 전송 - 짧은 시간 안의 알림을 한 프레임으로
+     */
+    @Test
+    @DisplayName("묶음 전송: 연속 알림을 NOTIFICATION_BATCH 하나로 기록")
+    void testCoalescingWindow() throws InterruptedException {
+        // Given
+        subject.setCoalescing(200, 10);
+        StringWriter output = new StringWriter();
+        subject.registerClient("user1", new PrintWriter(output));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            subject.notifyUser(createNotification("user1", "908호"));
+        }
+
+        // Then
+        assertTrue(await(() -> output.toString().split("\n").length == 6));
+        String[] lines = output.toString().split("\n");
+        assertEquals("NOTIFICATION_BATCH,5", lines[0].trim());
+        for (int i = 1; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith("NOTIFICATION,APPROVED"));
+        }
+    }
+
+    /**
+     * 테스트 13: 동시 등록/전송/해제 스트레스
+     */
+    @Test
+    @DisplayName("동시 등록/전송/해제: 전역 잠금 없이 일관성 유지")
+    void testConcurrentRegisterNotifyStress() throws InterruptedException {
+        final int OPS_PER_THREAD = 300;
+        int maxThreads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+        for (int threadCount = 1; threadCount <= maxThreads; threadCount *= 2) {
+            final int threads = threadCount;
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+            java.util.concurrent.atomic.AtomicInteger errors = new java.util.concurrent.atomic.AtomicInteger();
+
+            for (int t = 0; t < threads; t++) {
+                final int index = t;
+                new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < OPS_PER_THREAD; i++) {
+                            String userId = "stress" + ((index + i) % 16);
+                            PrintWriter writer = new PrintWriter(Writer.nullWriter());
+                            subject.registerClient(userId, writer);
+                            subject.notifyUser(createNotification(userId, "908호"));
+                            subject.unregisterClient(userId, writer);
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }).start();
+            }
+
+            start.countDown();
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+
+            // Then: 모든 연결과 대기열이 정리됨 (마지막 연결 해제 때 남은 알림은 오프라인 저장)
+            assertEquals(0, errors.get());
+            for (int u = 0; u < 16; u++) {
+                String userId = "stress" + u;
+                assertEquals(0, subject.getClientCount(userId), "모든 연결이 해제되어야 함");
+                assertEquals(0, subject.getQueueDepth(userId));
+                OfflineNotificationManager.getInstance().clearNotifications(userId);
+            }
+        }
+    }
+
+    /**
+     * 테스트 14: 관찰자 비동기 전달 - 타입 필터와 순서 보장
+     */
+    @Test
+    @DisplayName("관찰자: 구독한 타입만 발행 순서대로 비동기 전달")
+    void testObserverDispatchOrderingAndFilter() throws InterruptedException {
+        // Given
+        List<String> cancelled = new java.util.concurrent.CopyOnWriteArrayList<>();
+        List<String> all = new java.util.concurrent.CopyOnWriteArrayList<>();
+        ReservationObserver cancelObserver = n -> cancelled.add(n.getRoom());
+        ReservationObserver auditObserver = n -> all.add(n.getRoom());
+        subject.registerObserver(cancelObserver, ReservationNotification.NotificationType.CANCELLED);
+        subject.registerObserver(auditObserver);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            subject.notifyObservers(new ReservationNotification("user1", "테스트유저", "room" + i,
+                "2025-01-15", "월요일", "09:00-10:00",
+                i % 2 == 0 ? ReservationNotification.NotificationType.CANCELLED
+                           : ReservationNotification.NotificationType.APPROVED,
+                "테스트 메시지"));
+        }
+
+        // Then
+        assertTrue(await(() -> all.size() == 100 && cancelled.size() == 50));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("room" + i, all.get(i), "관찰자별 발행 순서가 유지되어야 함");
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals("room" + (i * 2), cancelled.get(i));
+        }
+
+        subject.removeObserver(cancelObserver);
+        subject.removeObserver(auditObserver);
+    }
+
+    /**
+     * 테스트 15: ACK 모드 순번 부여와 연결 제거 시 미확인 알림 오프라인 저장
+     */
+    @Test
+    @DisplayName("ACK 모드: 순번 부여, 누적 ACK, 마지막 연결 제거 시 미확인 알림 오프라인 저장 후 순번 이어서 부여")
+    void testAcknowledgedDeliveryResumesAfterReconnect() throws InterruptedException {
+        // Given
+        subject.enableAcknowledgements(16);
+        StringWriter first = new StringWriter();
+        PrintWriter firstWriter = new PrintWriter(first);
+        subject.registerClient("user1", firstWriter);
+        try {
+            // When: 3건 전송 후 1번까지만 ACK하고 연결 제거
+            for (int i = 1; i <= 3; i++) {
+                subject.notifyUser(createNotification("user1", "90" + i + "호"));
+            }
+            assertTrue(await(() -> first.toString().contains("903호")));
+            assertTrue(first.toString().contains("901호,2025-01-15,월요일,09:00-10:00,1"),
+                "프레임 끝에 순번이 붙어야 함");
+            assertTrue(subject.handleAck("user1", "NOTIFICATION_ACK,1"));
+            assertFalse(subject.handleAck("user1", "LOGOUT"));
+            assertEquals(1, subject.getLastAckedSequence("user1"));
+            assertEquals(2, subject.getUnackedCount("user1"));
+            subject.unregisterClient("user1", firstWriter);
+
+            // Then: 미확인 2건은 오프라인 저장되고 재전송 창은 사라짐
+            assertEquals(0, subject.getUnackedCount("user1"));
+            List<ReservationNotification> stored = OfflineNotificationManager.getInstance().getNotifications("user1");
+            assertEquals(2, stored.size());
+            assertEquals("902호", stored.get(0).getRoom());
+            assertEquals("903호", stored.get(1).getRoom());
+
+            // 클라이언트가 3번까지 받았다고 알리며 재접속하면 순번은 4번부터 이어짐
+            StringWriter second = new StringWriter();
+            subject.registerClient("user1", new PrintWriter(second), 3);
+            subject.notifyUser(createNotification("user1", "904호"));
+            assertTrue(await(() -> second.toString().contains("904호")));
+            assertFalse(second.toString().contains("903호"), "창이 없으면 재전송하지 않음");
+            assertTrue(second.toString().contains("904호,2025-01-15,월요일,09:00-10:00,4"));
+            assertEquals(3, subject.getLastAckedSequence("user1"));
+        } finally {
+            OfflineNotificationManager.getInstance().clearNotifications("user1");
+        }
+    }
+
+    /**
+     * 테스트 16: 등록 시 오프라인 알림을 묶음 프레임 하나로 먼저 전송
+     */
+    @Test
+    @DisplayName("등록 시 오프라인 알림 자동 전송: 묶음 프레임 후 실시간 알림")
+    void testReplayOfflineBacklogOnRegister() throws InterruptedException {
+        // Given: 미접속 중 저장된 알림 3개
+        subject.setReplayOnRegister(true);
+        for (int i = 1; i <= 3; i++) {
+            subject.notifyUser(createNotification("offlineUser", "90" + i + "호"));
+        }
+        assertEquals(3, OfflineNotificationManager.getInstance().getNotificationCount("offlineUser"));
+
+        // When: 등록 직후 실시간 알림 전송
+        StringWriter output = new StringWriter();
+        subject.registerClient("offlineUser", new PrintWriter(output));
+        subject.notifyUser(createNotification("offlineUser", "904호"));
+
+        // Then
+        assertTrue(await(() -> output.toString().contains("904호")));
+        String received = output.toString();
+        assertTrue(received.startsWith("NOTIFICATION_BATCH,3"), "밀린 알림이 묶음 프레임으로 먼저 전송되어야 함");
+        assertTrue(received.indexOf("903호") < received.indexOf("904호"));
+        assertEquals(0, OfflineNotificationManager.getInstance().getNotificationCount("offlineUser"),
+            "전송한 오프라인 알림은 저장소에서 제거되어야 함");
+    }
+
+    /**
+     * 테스트 17: 다른 노드에 접속한 사용자에게는 노드 간 통로로 전달
+     */
+    @Test
+    @DisplayName("노드 간 전달: 접속 노드로 바로 보내고 오프라인 저장하지 않음")
+    void testRouteToOwningNode() throws InterruptedException {
+        // Given: 이 노드(nodeA)와 같은 스풀 디렉토리를 쓰는 nodeB
+        String spool = TEST_BASE_DIR + "/bus-" + System.nanoTime();
+        SpoolDirectoryBus busA = new SpoolDirectoryBus(spool, "nodeA", 20);
+        SpoolDirectoryBus busB = new SpoolDirectoryBus(spool, "nodeB", 20);
+        BlockingQueue<ReservationNotification> receivedOnB = new LinkedBlockingQueue<>();
+        subject.setNotificationBus(busA);
+        busB.start(receivedOnB::add);
+        try {
+            // When: remoteUser는 nodeB에, user1은 nodeA에 접속
+            busB.publishPresence("remoteUser", true);
+            StringWriter output = new StringWriter();
+            subject.registerClient("user1", new PrintWriter(output));
+            assertTrue(await(() -> "nodeB".equals(busA.ownerOf("remoteUser"))));
+            assertTrue(await(() -> "nodeA".equals(busB.ownerOf("user1"))));
+
+            subject.notifyUser(createNotification("remoteUser", "908호"));
+            busB.route("nodeA", createNotification("user1", "909호"));
+
+            // Then
+            ReservationNotification routed = receivedOnB.poll(5, TimeUnit.SECONDS);
+            assertNotNull(routed, "nodeB가 알림을 받아야 함");
+            assertEquals("remoteUser", routed.getUserId());
+            assertEquals("908호", routed.getRoom());
+            assertEquals(1, subject.getRemoteRoutedCount());
+            assertEquals(0, OfflineNotificationManager.getInstance().getNotificationCount("remoteUser"));
+            assertTrue(await(() -> output.toString().contains("909호")), "nodeA의 연결로 전달되어야 함");
+        } finally {
+            subject.setNotificationBus(null);
+            busB.close();
+        }
+    }
+
+    /**
+     * 테스트 18: 밀린 승인 알림보다 취소 알림을 먼저 전송
+     */
+    @Test
+    @DisplayName("우선순위 레인: CANCELLED가 밀린 APPROVED보다 먼저 전송")
+    void testHighPriorityLaneOvertakesBacklog() throws InterruptedException {
+        // Given: 첫 쓰기가 멈춰 있는 동안 승인 알림 5개, 취소 알림 1개가 쌓임
+        CountDownLatch release = new CountDownLatch(1);
+        StringBuffer output = new StringBuffer();
+        subject.registerClient("user1", new PrintWriter(new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                output.append(cbuf, off, len);
+            }
+
+            @Override
+            public void flush() { }
+
+            @Override
+            public void close() { }
+        }));
+        subject.notifyUser(createNotification("user1", "900호"));
+        assertTrue(await(() -> subject.getQueueDepth("user1") == 0), "첫 알림은 쓰기 중이어야 함");
+        for (int i = 1; i <= 5; i++) {
+            subject.notifyUser(createNotification("user1", "90" + i + "호"));
+        }
+        subject.notifyUser(new ReservationNotification("user1", "테스트유저", "911호", "2025-01-15",
+            "월요일", "09:00-10:00", ReservationNotification.NotificationType.CANCELLED, "수업 취소"));
+
+        // When
+        release.countDown();
+
+        // Then
+        assertTrue(await(() -> output.toString().contains("905호")));
+        String received = output.toString();
+        assertTrue(received.indexOf("911호") < received.indexOf("901호"),
+            "취소 알림이 밀린 승인 알림보다 먼저 전송되어야 함");
+        assertTrue(subject.getLaneStats().get(NotificationPriority.HIGH).getCount() >= 1);
+        assertEquals(NotificationPriority.HIGH,
+            subject.getPriority(ReservationNotification.NotificationType.CANCELLED));
+    }
+
+    /**
+     * 테스트 19: 재시도로 두 번 호출된 notifyUser는 한 번만 처리
+     */
+    @Test
+    @DisplayName("중복 알림 무시: 같은 결정의 재시도는 전송/저장하지 않음")
+    void testDuplicateNotifySuppressed() {
+        // Given
+        subject.setDuplicateWindow(60_000);
+        long suppressedBefore = subject.getSuppressedCount();
+
+        // When
+        subject.notifyUser(createNotification("offlineUser", "908호"));
+        subject.notifyUser(createNotification("offlineUser", "908호"));
+        subject.notifyUser(createNotification("offlineUser", "909호"));
+
+        // Then
+        assertEquals(2, OfflineNotificationManager.getInstance().getNotificationCount("offlineUser"));
+        assertEquals(suppressedBefore + 1, subject.getSuppressedCount());
+    }
+
+    /**
+     * 테스트 20: 이진 형식으로 협상한 연결에는 이진 프레임 전송
+     */
+    @Test
+    @DisplayName("이진 형식 연결: BinaryCodec 알림 프레임 수신")
+    void testBinaryClientReceivesBinaryFrames() throws InterruptedException {
+        // Given
+        ByteArrayOutputStream binaryOutput = new ByteArrayOutputStream();
+        subject.registerClient("user1", binaryOutput, WireFormat.negotiate(WireFormat.clientHello()));
+
+        // When
+        subject.notifyUser(createNotification("user1", "908호"));
+
+        // Then
+        assertTrue(await(() -> binaryOutput.size() > 0));
+        BinaryCodec.Frame frame = BinaryCodec.readFrame(ByteBuffer.wrap(binaryOutput.toByteArray()));
+        assertNotNull(frame);
+        assertEquals(BinaryCodec.TYPE_NOTIFICATION, frame.getType());
+        assertEquals("908호", ReservationNotification.fromBinary(frame.getPayload(), "user1").getRoom());
+    }
+
+    /**
+     * 테스트 21: 생존 신호가 끊긴 노드의 사용자는 오프라인 저장, 남은 수신함 알림도 회수
+     */
+    @Test
+    @DisplayName("노드 간 전달: 죽은 노드 소유 사용자는 오프라인 저장하고 그 노드의 알림을 회수")
+    void testDeadOwnerFallsBackToOffline() throws Exception {
+        // Given: 생존 신호가 오래전에 멈춘 ghost 노드가 remoteUser를 소유하고, 수신함에 알림 하나가 남음
+        String spool = TEST_BASE_DIR + "/bus-" + System.nanoTime();
+        SpoolDirectoryBus busA = new SpoolDirectoryBus(spool, "nodeA", 20, 500);
+        SpoolDirectoryBus sender = new SpoolDirectoryBus(spool, "nodeC", 20, 500);
+        Files.write(Paths.get(spool, "nodes", "ghost"), "1000".getBytes(StandardCharsets.UTF_8));
+        Files.write(Paths.get(spool, "presence", "remoteUser"), "ghost".getBytes(StandardCharsets.UTF_8));
+        sender.route("ghost", createNotification("remoteUser", "907호"));
+        subject.setNotificationBus(busA);
+        long routedBefore = subject.getRemoteRoutedCount();
+        try {
+            // When
+            subject.notifyUser(createNotification("remoteUser", "908호"));
+
+            // Then: 라우팅 없이 바로 오프라인 저장, ghost 수신함의 알림은 nodeA가 회수해 오프라인 저장
+            assertNull(busA.ownerOf("remoteUser"));
+            assertEquals(routedBefore, subject.getRemoteRoutedCount());
+            assertTrue(await(() -> OfflineNotificationManager.getInstance().getNotificationCount("remoteUser") == 2));
+        } finally {
+            subject.setNotificationBus(null);
+            OfflineNotificationManager.getInstance().clearNotifications("remoteUser");
+        }
+    }
+
+    /**
+     * 테스트 22: 노드 간 메시지의 필드에 구분자가 있어도 그대로 전달
+     */
+    @Test
+    @DisplayName("노드 간 전달: '|', 쉼표, 줄바꿈이 든 필드도 그대로 복원")
+    void testBusMessageEscaping() throws Exception {
+        // Given
+        String spool = TEST_BASE_DIR + "/bus-" + System.nanoTime();
+        SpoolDirectoryBus sender = new SpoolDirectoryBus(spool, "nodeC", 20);
+        SpoolDirectoryBus receiver = new SpoolDirectoryBus(spool, "nodeD", 20);
+        BlockingQueue<ReservationNotification> received = new LinkedBlockingQueue<>();
+        receiver.start(received::add);
+        try {
+            // When
+            sender.route("nodeD", new ReservationNotification("user|1", "테스트유저",
+                "9|08호, 세미나실", "2025-01-15", "월요일", "09:00-10:00",
+                ReservationNotification.NotificationType.CANCELLED, "취소|사유\n포함"));
+
+            // Then
+            ReservationNotification routed = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(routed);
+            assertEquals("user|1", routed.getUserId());
+            assertEquals("9|08호, 세미나실", routed.getRoom());
+            assertEquals("취소|사유\n포함", routed.getMessage());
+            assertEquals(ReservationNotification.NotificationType.CANCELLED, routed.getType());
+        } finally {
+            receiver.close();
+        }
+    }
+
+    /**
+     * 테스트 23: 멈춘 바이트 스트림 연결은 스트림을 닫아 쓰기를 끊고 제거
+     */
+    @Test
+    @DisplayName("주기 점검: 멈춘 쓰기는 스트림을 닫아 끊고, 쓰던 알림까지 오프라인 저장")
+    void testSweeperClosesStalledStream() throws InterruptedException {
+        // Given
+        StalledOutputStream stream = new StalledOutputStream();
+        subject.registerClient("deadUser", stream);
+        subject.notifyUser(createNotification("deadUser", "908호"));
+        assertTrue(stream.writing.await(5, TimeUnit.SECONDS));
+        subject.notifyUser(createNotification("deadUser", "912호"));
+
+        // When
+        subject.startHealthSweeper(20, 50);
+
+        // Then
+        assertTrue(await(() -> subject.getClientCount("deadUser") == 0), "멈춘 연결은 제거되어야 함");
+        assertTrue(stream.unblocked.await(5, TimeUnit.SECONDS), "스트림을 닫으면 멈춘 쓰기가 풀려야 함");
+        assertTrue(await(() -> OfflineNotificationManager.getInstance().getNotificationCount("deadUser") == 2),
+            "쓰기 중이던 알림과 대기 알림 모두 오프라인에 저장되어야 함");
+    }
+
+    /**
+     * 테스트 24: ACK 모드에서 끊어진 연결의 미확인 알림 오프라인 저장
+     */
+    @Test
+    @DisplayName("ACK 모드: 끊어진 마지막 연결의 미확인 알림은 오프라인 저장되고 창 제거")
+    void testDeadConnectionSpillsUnacked() throws InterruptedException {
+        // Given
+        subject.enableAcknowledgements(16);
+        subject.registerClient("deadUser", new PrintWriter(new FailingWriter()));
+
+        // When
+        subject.notifyUser(createNotification("deadUser", "908호"));
+
+        // Then
+        assertTrue(await(() -> subject.getClientCount("deadUser") == 0), "끊어진 연결은 제거되어야 함");
+        assertTrue(await(() -> OfflineNotificationManager.getInstance().getNotificationCount("deadUser") == 1),
+            "확인되지 않은 알림은 오프라인에 저장되어야 함");
+        assertEquals(0, subject.getUnackedCount("deadUser"));
+    }
+
+    /**
+     * 테스트 25: 마지막 연결을 해제하면 대기 중이던 알림을 오프라인 저장
+     */
+    @Test
+    @DisplayName("연결 해제: 마지막 연결의 대기열에 남은 알림은 버리지 않고 오프라인 저장")
+    void testUnregisterSpillsQueuedNotifications() throws InterruptedException {
+        // Given: 첫 알림의 쓰기가 멈춘 상태에서 두 건이 더 대기열에 쌓임
+        CountDownLatch release = new CountDownLatch(1);
+        PrintWriter writer = new PrintWriter(new BlockingWriter(release));
+        subject.registerClient("slowUser", writer);
+        subject.notifyUser(createNotification("slowUser", "908호"));
+        assertTrue(await(() -> subject.getQueueDepth("slowUser") == 0));
+        subject.notifyUser(createNotification("slowUser", "911호"));
+        subject.notifyUser(createNotification("slowUser", "912호"));
+        assertEquals(2, subject.getQueueDepth("slowUser"));
+
+        // When
+        subject.unregisterClient("slowUser", writer);
+
+        // Then: 쓰던 알림과 대기 알림 모두 오프라인에 저장
+        List<ReservationNotification> stored = OfflineNotificationManager.getInstance().getNotifications("slowUser");
+        assertEquals(3, stored.size());
+        assertEquals("911호", stored.get(1).getRoom());
+        assertEquals("912호", stored.get(2).getRoom());
+        release.countDown();
+    }
+
+    /**
+     * 테스트 26: 묶음 전송 시간을 기다리는 동안에는 송신 스레드를 잡지 않음
+     */
+    @Test
+    @DisplayName("묶음 전송: 모으는 중에 해제하면 예약을 취소하고 대기 알림을 바로 오프라인 저장")
+    void testCoalescingWaitDoesNotHoldSender() {
+        // Given: 긴 묶음 시간 동안 두 건이 대기열에 쌓임
+        subject.setCoalescing(10_000, 10);
+        StringWriter output = new StringWriter();
+        PrintWriter writer = new PrintWriter(output);
+        subject.registerClient("slowUser", writer);
+        subject.notifyUser(createNotification("slowUser", "908호"));
+        subject.notifyUser(createNotification("slowUser", "911호"));
+        assertEquals(2, subject.getQueueDepth("slowUser"));
+
+        // When
+        long started = System.nanoTime();
+        subject.unregisterClient("slowUser", writer);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Then: 송신 작업을 기다리지 않고 해제되며 보내지 않은 알림은 오프라인에 남음
+        assertTrue(elapsedMillis < 400, "해제가 묶음 시간을 기다리면 안 됨: " + elapsedMillis + "ms");
+        assertEquals("", output.toString());
+        assertEquals(2, OfflineNotificationManager.getInstance().getNotifications("slowUser").size());
+    }
+
+    /**
+     * 테스트 27: 로그아웃한 노드는 다른 노드가 새로 쓴 접속 기록을 지우지 않음
+     */
+    @Test
+    @DisplayName("노드 간 전달: 이전 노드의 로그아웃은 새 노드의 접속 기록을 남기고 자기 기록만 삭제")
+    void testPresenceRemovalKeepsOtherNodeRecord() throws Exception {
+        // Given: nodeA에서 로그인한 사용자가 nodeB에서 다시 로그인
+        String spool = TEST_BASE_DIR + "/bus-" + System.nanoTime();
+        SpoolDirectoryBus busA = new SpoolDirectoryBus(spool, "nodeA", 20);
+        SpoolDirectoryBus busB = new SpoolDirectoryBus(spool, "nodeB", 20);
+        java.nio.file.Path record = Paths.get(spool, "presence", "movingUser");
+        busA.publishPresence("movingUser", true);
+        busB.publishPresence("movingUser", true);
+
+        // When
+        busA.publishPresence("movingUser", false);
+
+        // Then: nodeB의 기록은 그대로, 임시 파일도 남지 않음
+        assertEquals("nodeB", new String(Files.readAllBytes(record), StandardCharsets.UTF_8).trim());
+        busB.publishPresence("movingUser", false);
+        assertFalse(Files.exists(record));
+        try (java.util.stream.Stream<java.nio.file.Path> files = Files.list(Paths.get(spool, "presence"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * 조건이 참이 될 때까지 최대 5초 대기
+     */
+    static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    static ReservationNotification createNotification(String userId, String room) {
+        return new ReservationNotification(
+            userId,
+            "테스트유저",
+            room,
+            "2025-01-15",
+            "월요일",
+            "09:00-10:00",
+            ReservationNotification.NotificationType.APPROVED,
+            "테스트 메시지"
+        );
+    }
+
+    /**
+     * latch가 풀릴 때까지 쓰기가 멈춰 있는 Writer (멈춘 소켓 흉내)
+     */
+    static class BlockingWriter extends Writer {
+        private final CountDownLatch release;
+        private final Writer target;
+
+        BlockingWriter(CountDownLatch release) {
+            this(release, Writer.nullWriter());
+        }
+
+        /**
+         * @param target 풀린 뒤 쓴 내용을 넘길 Writer
+         */
+        BlockingWriter(CountDownLatch release, Writer target) {
+            this.release = release;
+            this.target = target;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws java.io.IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (target) {
+                target.write(cbuf, off, len);
+            }
+        }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+    }
+
+    /**
+     * close()될 때까지 쓰기가 멈춰 있다가 닫히면 예외를 던지는 OutputStream (멈춘 소켓 흉내)
+     */
+    static class StalledOutputStream extends java.io.OutputStream {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch unblocked = new CountDownLatch(1);
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void write(int b) throws java.io.IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws java.io.IOException {
+            writing.countDown();
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            unblocked.countDown();
+            throw new java.io.IOException("Socket closed");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+    /**
+     * 항상 쓰기에 실패하는 Writer (끊어진 소켓 흉내)
+     */
+    static class FailingWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) throws java.io.IOException {
+            throw new java.io.IOException("Broken pipe");
+        }
+
+        @Override
+        public void flush() throws java.io.IOException {
+            throw new java.io.IOException("Broken pipe");
+        }
+
+        @Override
+        public void close() { }
+    }
+}
@@ -0,0 +1,167 @@
+package common.utils;
+
+import common.builder.ReservationRequest;
+import common.dto.ClassroomDTO;
+import common.observer.ReservationNotification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 이진 프레임 코덱과 형식 협상 테스트
+ */
+class BinaryCodecTest {
+
+    private static ReservationRequest createRequest() {
+        return new ReservationRequest.Builder("김철수", "911호", "2025-01-20")
+            .day("금")
+            .time("3교시")
+            .endTime("4교시")
+            .purpose("프로젝트 회의, 발표 준비")
+            .userRole("교수")
+            .studentCount(10)
+            .userId("prof001")
+            .build();
+    }
+
+    @Test
+    @DisplayName("이진 프레임 - 세 가지 메시지 왕복")
+    void testRoundTrip() {
+        // Given: 한 버퍼에 요청, 강의실, 알림 프레임을 이어서 기록
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        createRequest().writeBinary(buffer);
+        new ClassroomDTO("908호", "CLASS", 40).writeBinary(buffer);
+        new ReservationNotification("user1", "", "908호", "2025-01-15", "월요일", "09:00-10:00",
+            ReservationNotification.NotificationType.CANCELLED, "수업 취소").writeBinary(buffer, 7);
+        buffer.flip();
+
+        // When & Then
+        BinaryCodec.Frame frame = BinaryCodec.readFrame(buffer);
+        assertEquals(BinaryCodec.TYPE_RESERVE_REQUEST, frame.getType());
+        ReservationRequest request = ReservationRequest.fromBinary(frame.getPayload());
+        assertEquals("프로젝트 회의, 발표 준비", request.getPurpose());
+        assertEquals("4교시", request.getEndTime());
+        assertEquals(10, request.getStudentCount());
+
+        frame = BinaryCodec.readFrame(buffer);
+        assertEquals(BinaryCodec.TYPE_CLASSROOM, frame.getType());
+        assertEquals(40, ClassroomDTO.fromBinary(frame.getPayload()).getCapacity());
+
+        frame = BinaryCodec.readFrame(buffer);
+        assertEquals(BinaryCodec.TYPE_NOTIFICATION, frame.getType());
+        assertEquals(7, ReservationNotification.binarySequence(frame.getPayload()));
+        ReservationNotification notification = ReservationNotification.fromBinary(frame.getPayload(), "user1");
+        assertEquals(ReservationNotification.NotificationType.CANCELLED, notification.getType());
+        assertEquals("수업 취소", notification.getMessage());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("이진 프레임 - 일부만 도착한 프레임은 읽지 않고, 버전이 다르면 예외")
+    void testPartialAndUnsupportedFrames() {
+        // Given
+        byte[] encoded = createRequest().toBinary();
+        ByteBuffer partial = ByteBuffer.wrap(encoded, 0, encoded.length - 1);
+
+        // When & Then
+        assertNull(BinaryCodec.readFrame(partial));
+        assertEquals(0, partial.position());
+        encoded[0] = 9;
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.readFrame(ByteBuffer.wrap(encoded)));
+    }
+
+    @Test
+    @DisplayName("형식 협상 - HELLO를 보내지 않는 이전 클라이언트는 텍스트")
+    void testNegotiation() {
+        assertEquals(WireFormat.BINARY, WireFormat.negotiate(WireFormat.clientHello()));
+        assertEquals(WireFormat.TEXT, WireFormat.negotiate("HELLO,TEXT"));
+        assertEquals(WireFormat.TEXT, WireFormat.negotiate("LOGIN,user1,pw"));
+        assertEquals("HELLO_ACK,BINARY/1", WireFormat.BINARY.ackLine());
+        assertEquals(WireFormat.BINARY, WireFormat.fromAck("HELLO_ACK,BINARY/1"));
+        assertEquals(WireFormat.TEXT, WireFormat.fromAck("HELLO_ACK,TEXT"));
+    }
+
+    @Test
+    @DisplayName("텍스트/이진 인코딩 - 같은 요청으로 복원되고 이진 프레임이 더 작음")
+    void testTextAndBinaryEncodingsAgree() {
+        // Given
+        ReservationRequest request = createRequest();
+        byte[] textBytes = (request.toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] binaryBytes = request.toBinary();
+
+        // When
+        ReservationRequest fromText = ReservationRequest.fromProtocol(
+            ProtocolCodec.readLine(ByteBuffer.wrap(textBytes), new StringBuilder()));
+        BinaryCodec.Frame frame = BinaryCodec.readFrame(ByteBuffer.wrap(binaryBytes));
+        int payloadLength = frame.getPayload().remaining();
+        ReservationRequest fromBinary = ReservationRequest.fromBinary(frame.getPayload());
+
+        // Then
+        assertEquals(request.toProtocolString(), fromText.toProtocolString());
+        assertEquals(request.toProtocolString(), fromBinary.toProtocolString());
+        assertEquals(binaryBytes.length, BinaryCodec.frameSize(payloadLength));
+        assertTrue(binaryBytes.length < textBytes.length, "이진 프레임이 더 작아야 함");
+    }
+
+    /**
+     * 텍스트/이진 인코딩·디코딩 비용 비교 (기본 빌드에서는 실행하지 않음)
+     * 실행: mvn test -Dtest=BinaryCodecTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("벤치마크 - 전송 바이트 수와 인코딩/디코딩 비용 비교")
+    void benchmarkTextVersusBinary() {
+        // Given
+        final int ITERATIONS = 200_000;
+        ReservationRequest request = createRequest();
+        byte[] textBytes = (request.toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] binaryBytes = request.toBinary();
+
+        // When: 워밍업 한 바퀴 후 측정
+        long textEncodeNanos = 0;
+        long binaryEncodeNanos = 0;
+        long textDecodeNanos = 0;
+        long binaryDecodeNanos = 0;
+        long checksum = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                checksum += (request.toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8).length;
+            }
+            textEncodeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                checksum += request.toBinary().length;
+            }
+            binaryEncodeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < ITERATIONS; i++) {
+                checksum += ReservationRequest.fromProtocol(
+                    ProtocolCodec.readLine(ByteBuffer.wrap(textBytes), line)).getStudentCount();
+            }
+            textDecodeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                BinaryCodec.Frame frame = BinaryCodec.readFrame(ByteBuffer.wrap(binaryBytes));
+                checksum += ReservationRequest.fromBinary(frame.getPayload()).getStudentCount();
+            }
+            binaryDecodeNanos = System.nanoTime() - start;
+        }
+
+        // Then
+        System.out.println("[벤치마크] RESERVE_REQUEST 크기: 텍스트 " + textBytes.length
+            + "B, 이진 " + binaryBytes.length + "B");
+        System.out.println("[벤치마크] 인코딩: 텍스트 " + (textEncodeNanos / ITERATIONS) + "ns/건, 이진 "
+            + (binaryEncodeNanos / ITERATIONS) + "ns/건");
+        System.out.println("[벤치마크] 디코딩: 텍스트 " + (textDecodeNanos / ITERATIONS) + "ns/건, 이진 "
+            + (binaryDecodeNanos / ITERATIONS) + "ns/건");
+        assertTrue(checksum > 0);
+    }
+}
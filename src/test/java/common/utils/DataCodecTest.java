@@ -0,0 +1,176 @@
+package common.utils;
+
+import common.dto.ClassroomDTO;
+import common.model.MembershipModel;
+import common.model.ReservedRoomModel;
+import common.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO/모델 직접 직렬화 테스트
+ */
+class DataCodecTest {
+
+    /**
+     * 비교용: 기본 Java 직렬화를 쓰는 이전 형태의 ClassroomDTO
+     */
+    static class LegacyClassroom implements Serializable {
+        private static final long serialVersionUID = 1L;
+        public final String name;
+        public final String type;
+        public final int capacity;
+
+        LegacyClassroom(String name, String type, int capacity) {
+            this.name = name;
+            this.type = type;
+            this.capacity = capacity;
+        }
+    }
+
+    @Test
+    @DisplayName("ClassroomDTO - Java 직렬화는 직렬화 프록시로 왕복")
+    void testClassroomJavaSerialization() throws Exception {
+        // Given
+        ClassroomDTO room = new ClassroomDTO("908호", "CLASS", 40);
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(room);
+        }
+        Object restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = in.readObject();
+        }
+
+        // Then
+        assertTrue(restored instanceof ClassroomDTO);
+        assertEquals("908호", ((ClassroomDTO) restored).getRoomName());
+        assertEquals(40, ((ClassroomDTO) restored).getCapacity());
+    }
+
+    @Test
+    @DisplayName("모델 목록 - DataOutput 왕복")
+    void testModelListsRoundTrip() throws IOException {
+        // Given
+        List<ReservedRoomModel.Reservation> reservations = List.of(
+            new ReservedRoomModel.Reservation("홍길동", "908호", "월", "1교시", "스터디"),
+            new ReservedRoomModel.Reservation("김철수", "911호", "화", "3교시", "회의"));
+        List<User> users = List.of(new User("user1", "pw1", "홍길동"));
+        List<MembershipModel> members = List.of(new MembershipModel(), new MembershipModel("이영희", "20231234", "pw"));
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ReservedRoomModel.Reservation.writeList(out, reservations);
+        User.writeList(out, users);
+        MembershipModel.writeList(out, members);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        // Then
+        assertEquals(reservations, ReservedRoomModel.Reservation.readList(in));
+        User restoredUser = User.readList(in).get(0);
+        assertEquals("user1", restoredUser.getUserId());
+        assertEquals("홍길동", restoredUser.getName());
+        assertNull(restoredUser.getPassword(), "비밀번호는 직렬화하지 않음");
+        List<MembershipModel> restoredMembers = MembershipModel.readList(in);
+        assertFalse(restoredMembers.get(0).isComplete());
+        assertEquals("20231234", restoredMembers.get(1).getStudentId());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    @DisplayName("ClassroomDTO 목록 - DataOutput 왕복과 기록 크기")
+    void testClassroomListRoundTripAndSize() throws IOException {
+        // Given
+        List<ClassroomDTO> rooms = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rooms.add(new ClassroomDTO((908 + i) + "호", i == 0 ? "LAB" : "CLASS", 30 + i));
+        }
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ClassroomDTO.writeList(out, rooms);
+        out.flush();
+        List<ClassroomDTO> restored = ClassroomDTO.readList(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then: 개수(int) + 강의실마다 이름/타입(writeUTF: 길이 2바이트 + UTF-8)과 수용인원(int)
+        int expectedSize = 4;
+        for (ClassroomDTO room : rooms) {
+            expectedSize += 2 + room.getRoomName().getBytes(StandardCharsets.UTF_8).length
+                + 2 + room.getType().getBytes(StandardCharsets.UTF_8).length + 4;
+        }
+        assertEquals(3, restored.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            assertEquals(rooms.get(i).getRoomName(), restored.get(i).getRoomName());
+            assertEquals(rooms.get(i).getType(), restored.get(i).getType());
+            assertEquals(rooms.get(i).getCapacity(), restored.get(i).getCapacity());
+        }
+        assertEquals(expectedSize, bytes.size(), "개수와 필드만 기록해야 함");
+    }
+
+    /**
+     * 기본 Java 직렬화 대비 크기와 왕복 처리량 비교 (기본 빌드에서는 실행하지 않음)
+     * 실행: mvn test -Dtest=DataCodecTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("벤치마크 - 기본 직렬화 대비 크기와 처리량")
+    void benchmarkAgainstDefaultSerialization() throws Exception {
+        // Given
+        final int ROOMS = 500;
+        final int ROUNDS = 200;
+        List<ClassroomDTO> rooms = new ArrayList<>();
+        ArrayList<LegacyClassroom> legacyRooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(new ClassroomDTO((900 + i) + "호", i % 3 == 0 ? "LAB" : "CLASS", 30 + i % 40));
+            legacyRooms.add(new LegacyClassroom((900 + i) + "호", i % 3 == 0 ? "LAB" : "CLASS", 30 + i % 40));
+        }
+
+        // When: 워밍업 한 번 후 측정
+        int legacySize = 0;
+        int codecSize = 0;
+        long legacyNanos = 0;
+        long codecNanos = 0;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(legacyRooms);
+                }
+                legacySize = bytes.size();
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                    assertEquals(ROOMS, ((List<?>) in.readObject()).size());
+                }
+            }
+            legacyNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                ClassroomDTO.writeList(out, rooms);
+                out.flush();
+                codecSize = bytes.size();
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+                assertEquals(ROOMS, ClassroomDTO.readList(in).size());
+            }
+            codecNanos = System.nanoTime() - start;
+        }
+
+        // Then
+        System.out.println("[벤치마크] 강의실 " + ROOMS + "개: 기본 직렬화 " + legacySize + "B, 직접 직렬화 " + codecSize + "B");
+        System.out.println("[벤치마크] 왕복 처리량: 기본 " + (ROUNDS * 1_000_000_000L / Math.max(1, legacyNanos))
+            + "회/s, 직접 " + (ROUNDS * 1_000_000_000L / Math.max(1, codecNanos)) + "회/s");
+        assertTrue(codecSize < legacySize, "직접 직렬화가 더 작아야 함");
+    }
+}
@@ -0,0 +1,78 @@
+package common.utils;
+
+import common.dto.ClassroomDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 텍스트 프로토콜 코덱 테스트
+ */
+class ProtocolCodecTest {
+
+    @Test
+    @DisplayName("토크나이저 - 이스케이프 필드, 빈 필드, 정수 필드")
+    void testTokenizer() {
+        // Given
+        StringBuilder sb = new StringBuilder();
+        ProtocolCodec.appendField(sb, "A,B");
+        ProtocolCodec.appendField(sb, "");
+        ProtocolCodec.appendField(sb, "줄\n바꿈");
+        ProtocolCodec.appendField(sb, -42);
+
+        // When
+        ProtocolCodec.Tokenizer tokens = ProtocolCodec.tokenize(sb);
+
+        // Then
+        assertEquals("A\\,B,,줄\\n바꿈,-42", sb.toString());
+        assertEquals("A,B", tokens.next());
+        assertEquals("", tokens.next());
+        assertEquals("줄\n바꿈", tokens.next());
+        assertEquals(-42, tokens.nextInt());
+        assertFalse(tokens.hasNext());
+        assertThrows(IllegalArgumentException.class, tokens::next);
+        assertThrows(NumberFormatException.class, () -> ProtocolCodec.tokenize("12a").nextInt());
+    }
+
+    @Test
+    @DisplayName("ByteBuffer - UTF-8 줄 쓰기/읽기, 미완성 줄은 읽지 않음")
+    void testByteBufferLines() {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        String line = "908호,CLASS,30";
+
+        // When
+        int written = ProtocolCodec.writeLine(line, buffer);
+        buffer.put("912호,LAB".getBytes(StandardCharsets.UTF_8));   // 줄바꿈 없는 미완성 줄
+        buffer.flip();
+
+        // Then
+        assertEquals((line + "\n").getBytes(StandardCharsets.UTF_8).length, written);
+        StringBuilder reuse = new StringBuilder();
+        assertEquals(line, ProtocolCodec.readLine(buffer, reuse).toString());
+        int position = buffer.position();
+        assertNull(ProtocolCodec.readLine(buffer, reuse));
+        assertEquals(position, buffer.position(), "미완성 줄은 버퍼 위치를 옮기지 않아야 함");
+    }
+
+    @Test
+    @DisplayName("ClassroomDTO - 이스케이프 왕복과 기존 형식(공백 포함) 호환")
+    void testClassroomRoundTrip() {
+        // Given
+        ClassroomDTO room = new ClassroomDTO("공학관 908호, 세미나실", "CLASS", 40);
+
+        // When
+        ClassroomDTO parsed = ClassroomDTO.fromProtocol(room.toProtocol());
+        ClassroomDTO legacy = ClassroomDTO.fromProtocol(" 911호 , LAB , 30 ");
+
+        // Then
+        assertEquals("공학관 908호, 세미나실", parsed.getRoomName());
+        assertEquals(40, parsed.getCapacity());
+        assertEquals("911호", legacy.getRoomName());
+        assertEquals("LAB", legacy.getType());
+        assertEquals(30, legacy.getCapacity());
+        assertNull(ClassroomDTO.fromProtocol("911호,LAB"));
+    }
+}